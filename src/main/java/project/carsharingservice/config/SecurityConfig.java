@@ -40,11 +40,16 @@ public class SecurityConfig {
                                 .requestMatchers(
                                         "/auth/**",
                                         "/cars/**",
+                                        "/payments/webhook",
                                         "/swagger-ui/**",
                                         "/v3/api-docs/**",
                                         "/error"
                                 )
                                 .permitAll()
+                                .requestMatchers("/actuator/health")
+                                .permitAll()
+                                .requestMatchers("/actuator/**")
+                                .hasRole("MANAGER")
                                 .anyRequest()
                                 .authenticated()
                 )
@@ -4,10 +4,13 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.io.InputStream;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,11 +19,20 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import project.carsharingservice.dto.cache.ETaggedDto;
 import project.carsharingservice.dto.car.AddNewCarRequestDto;
+import project.carsharingservice.dto.car.CarAvailabilityDto;
 import project.carsharingservice.dto.car.CarDto;
+import project.carsharingservice.dto.car.CarImportResultDto;
+import project.carsharingservice.dto.car.CarSearchParametersDto;
+import project.carsharingservice.dto.car.CarSortKey;
 import project.carsharingservice.dto.car.UpdateCarInfoRequestDto;
+import project.carsharingservice.dto.page.CursorPageDto;
+import project.carsharingservice.monitoring.SqlStatementBudget;
+import project.carsharingservice.service.CarImportService;
 import project.carsharingservice.service.CarService;
 
 @Tag(name = "Car management", description = "Endpoints for managing cars")
@@ -29,19 +41,55 @@ import project.carsharingservice.service.CarService;
 @RequiredArgsConstructor
 public class CarController {
     private final CarService carService;
+    private final CarImportService carImportService;
 
     @GetMapping
     @Operation(summary = "Get all cars in pages",
             description = "Get all cars in pages")
-    public List<CarDto> getAllCars(Pageable pageable) {
-        return carService.getAllCars(pageable);
+    @SqlStatementBudget(2)
+    public ResponseEntity<List<CarDto>> getAllCars(Pageable pageable) {
+        ETaggedDto<List<CarDto>> cars = carService.getAllCars(pageable);
+        return ResponseEntity.ok()
+                .eTag(cars.getEtag())
+                .body(cars.getContent());
+    }
+
+    @GetMapping("/availability")
+    @Operation(summary = "Get available inventory of all cars",
+            description = "Get available inventory of all cars")
+    public List<CarAvailabilityDto> getCarsAvailability() {
+        return carService.getCarsAvailability();
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search cars in pages",
+            description = "Search cars by type, brand, daily fee range and availability")
+    @SqlStatementBudget(2)
+    public List<CarDto> searchCars(@Valid CarSearchParametersDto searchParameters,
+                                   Pageable pageable) {
+        return carService.searchCars(searchParameters, pageable);
+    }
+
+    @GetMapping("/scroll")
+    @Operation(summary = "Get all cars with cursor pagination",
+            description = "Get all cars ordered by id or daily fee, "
+                    + "continuing after the cursor of the previous page")
+    public CursorPageDto<CarDto> scrollCars(
+            @RequestParam(defaultValue = "ID") CarSortKey sortKey,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return carService.scrollCars(sortKey, cursor, size);
     }
 
     @GetMapping("/{carId}")
     @Operation(summary = "Get a car by id",
             description = "Get a car by id")
-    public CarDto getCarById(@PathVariable Long carId) {
-        return carService.getCarById(carId);
+    @SqlStatementBudget(1)
+    public ResponseEntity<CarDto> getCarById(@PathVariable Long carId) {
+        ETaggedDto<CarDto> car = carService.getCarById(carId);
+        return ResponseEntity.ok()
+                .eTag(car.getEtag())
+                .body(car.getContent());
     }
 
     @PostMapping
@@ -49,15 +97,36 @@ public class CarController {
     @Operation(summary = "Create a new car",
             description = "Create a new car",
             security = @SecurityRequirement(name = "bearerAuth"))
+    @SqlStatementBudget(2)
     public CarDto addNewCar(@RequestBody @Valid AddNewCarRequestDto requestDto) {
         return carService.addNewCar(requestDto);
     }
 
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('MANAGER')")
+    @Operation(summary = "Import cars from a JSON array",
+            description = "Import cars from a JSON array, reporting invalid rows",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    public CarImportResultDto importCars(@RequestBody List<AddNewCarRequestDto> requestDtos) {
+        return carImportService.importCars(requestDtos);
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    @PreAuthorize("hasRole('MANAGER')")
+    @Operation(summary = "Import cars from a CSV file",
+            description = "Import cars from a CSV file with the header "
+                    + "brand,model,type,inventory,dailyFee, reporting invalid rows",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    public CarImportResultDto importCarsFromCsv(InputStream csv) {
+        return carImportService.importCarsFromCsv(csv);
+    }
+
     @PutMapping("/{carId}")
     @PreAuthorize("hasRole('MANAGER')")
     @Operation(summary = "Update car info by id",
             description = "Update car info by id",
             security = @SecurityRequirement(name = "bearerAuth"))
+    @SqlStatementBudget(2)
     public CarDto updateCarInfoById(@PathVariable Long carId,
                                     @RequestBody @Valid UpdateCarInfoRequestDto requestDto) {
         return carService.updateCarInfoById(carId, requestDto);
@@ -69,6 +138,7 @@ public class CarController {
             description = "Delete a car by id",
             security = @SecurityRequirement(name = "bearerAuth"))
     @ResponseStatus(HttpStatus.NO_CONTENT)
+    @SqlStatementBudget(3)
     public void deleteCar(@PathVariable Long carId) {
         carService.deleteCarById(carId);
     }
@@ -0,0 +1,77 @@
+package project.carsharingservice.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import project.carsharingservice.dto.export.ExportFormat;
+import project.carsharingservice.service.ExportService;
+
+@Tag(name = "Export management", description = "Endpoints for exporting rentals and payments")
+@SecurityRequirement(name = "bearerAuth")
+@RestController
+@RequestMapping("/exports")
+@PreAuthorize("hasRole('MANAGER')")
+public class ExportController {
+    private final ExportService exportService;
+    private final Duration requestTimeout;
+
+    public ExportController(ExportService exportService,
+                            @Value("${export.request-timeout}") Duration requestTimeout) {
+        this.exportService = exportService;
+        this.requestTimeout = requestTimeout;
+    }
+
+    @GetMapping("/rentals")
+    @Operation(summary = "Export rentals",
+            description = "Stream rentals with a rental date within the range as CSV or NDJSON")
+    public WebAsyncTask<Void> exportRentals(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            HttpServletResponse response) {
+        return createExportTask("rentals", format, response,
+                output -> exportService.exportRentals(from, to, format, output));
+    }
+
+    @GetMapping("/payments")
+    @Operation(summary = "Export payments",
+            description = "Stream payments of rentals with a rental date within the range "
+                    + "as CSV or NDJSON")
+    public WebAsyncTask<Void> exportPayments(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            HttpServletResponse response) {
+        return createExportTask("payments", format, response,
+                output -> exportService.exportPayments(from, to, format, output));
+    }
+
+    private WebAsyncTask<Void> createExportTask(String fileName, ExportFormat format,
+                                                HttpServletResponse response,
+                                                StreamingResponseBody body) {
+        response.setContentType(format.getMediaType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(fileName + "." + format.getFileExtension())
+                .build()
+                .toString());
+        return new WebAsyncTask<>(requestTimeout.toMillis(), () -> {
+            body.writeTo(response.getOutputStream());
+            response.flushBuffer();
+            return null;
+        });
+    }
+}
@@ -12,13 +12,16 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import project.carsharingservice.dto.page.CursorPageDto;
 import project.carsharingservice.dto.payment.MakePaymentRequestDto;
 import project.carsharingservice.dto.payment.PaymentDto;
 import project.carsharingservice.model.User;
 import project.carsharingservice.service.PaymentService;
+import project.carsharingservice.service.PaymentWebhookService;
 
 @Tag(name = "Payment management", description = "Endpoints for managing payments")
 @SecurityRequirement(name = "bearerAuth")
@@ -27,15 +30,20 @@ import project.carsharingservice.service.PaymentService;
 @RequiredArgsConstructor
 public class PaymentController {
     private final PaymentService paymentService;
+    private final PaymentWebhookService paymentWebhookService;
 
     @PostMapping
     @PreAuthorize("hasRole('CUSTOMER')")
     @Operation(summary = "Create a payment session",
-            description = "Create a payment session")
-    public PaymentDto createPaymentSession(@RequestBody @Valid MakePaymentRequestDto requestDto,
-                                           Authentication authentication) {
+            description = "Create a payment session or return the unexpired pending session "
+                    + "of the rental. Requests repeated with the same Idempotency-Key header "
+                    + "return the payment created by the first one")
+    public PaymentDto createPaymentSession(
+            @RequestBody @Valid MakePaymentRequestDto requestDto,
+            @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey,
+            Authentication authentication) {
         User user = (User) authentication.getPrincipal();
-        return paymentService.createPaymentSession(requestDto, user);
+        return paymentService.createPaymentSession(requestDto, user, idempotencyKey);
     }
 
     @GetMapping
@@ -47,21 +55,43 @@ public class PaymentController {
         return paymentService.getAllPaymentsByUserId(userId, user);
     }
 
-    @GetMapping("/success/{paymentId}")
+    @GetMapping("/scroll")
+    @Operation(summary = "Get payments by user id with cursor pagination",
+            description = "Get payments by user id ordered by id, "
+                    + "continuing after the cursor of the previous page")
+    public CursorPageDto<PaymentDto> scrollPaymentsByUserId(
+            @RequestParam long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        return paymentService.scrollPaymentsByUserId(userId, user, cursor, size);
+    }
+
+    @GetMapping("/success/{sessionId}")
     @PreAuthorize("hasRole('CUSTOMER')")
     @Operation(summary = "Successful page for redirection",
             description = "Successful page for redirection")
-    public String paymentSuccessRedirect(@PathVariable long paymentId) {
-        paymentService.verifySuccessfulPayment(paymentId);
-        return "some-success-page";
+    public String paymentSuccessRedirect(@PathVariable String sessionId) {
+        return "Payment session with id " + sessionId
+                + " was completed, the payment will be confirmed shortly.";
+    }
+
+    @PostMapping("/webhook")
+    @Operation(summary = "Payment provider webhook",
+            description = "Receive signed Stripe events and mark payments of completed "
+                    + "checkout sessions as paid")
+    public void handleWebhook(@RequestBody String payload,
+                              @RequestHeader("Stripe-Signature") String signature) {
+        paymentWebhookService.handleEvent(payload, signature);
     }
 
-    @GetMapping("/cancel/{paymentId}")
+    @GetMapping("/cancel/{sessionId}")
     @PreAuthorize("hasRole('CUSTOMER')")
     @Operation(summary = "Cancel page for redirection",
             description = "Cancel page for redirection")
-    public String paymentCancelRedirect(@PathVariable long paymentId) {
-        return "Payment with id " + paymentId
+    public String paymentCancelRedirect(@PathVariable String sessionId) {
+        return "Payment session with id " + sessionId
                 + " was canceled, but you can finish it for 24 hours.";
     }
 }
@@ -6,6 +6,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -17,10 +18,12 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import project.carsharingservice.dto.page.CursorPageDto;
 import project.carsharingservice.dto.rental.CreateRentalRequestDto;
 import project.carsharingservice.dto.rental.RentalDto;
 import project.carsharingservice.dto.rental.RentalDtoWithoutCarInfo;
 import project.carsharingservice.model.User;
+import project.carsharingservice.monitoring.SqlStatementBudget;
 import project.carsharingservice.service.RentalService;
 
 @Tag(name = "Rental management", description = "Endpoints for managing rentals")
@@ -33,20 +36,38 @@ public class RentalController {
     private final UserDetailsService userDetailsService;
 
     @GetMapping
-    @Operation(summary = "Get rentals by user id",
-            description = "Get rentals by user id")
+    @Operation(summary = "Get rentals by user id in pages",
+            description = "Get rentals by user id in pages")
+    @SqlStatementBudget(2)
     public List<RentalDtoWithoutCarInfo> getRentalsByUserId(
             @RequestParam(required = false) Long userId,
             @RequestParam(required = false) Boolean isActive,
+            Authentication authentication,
+            Pageable pageable) {
+        UserDetails userDetails = userDetailsService.loadUserByUsername(authentication.getName());
+        User user = (User) userDetails;
+        return rentalService.getRentalsByUserId(userId, isActive, user, pageable);
+    }
+
+    @GetMapping("/scroll")
+    @Operation(summary = "Get rentals by user id with cursor pagination",
+            description = "Get rentals by user id ordered by id, "
+                    + "continuing after the cursor of the previous page")
+    public CursorPageDto<RentalDtoWithoutCarInfo> scrollRentalsByUserId(
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) Boolean isActive,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
             Authentication authentication) {
         UserDetails userDetails = userDetailsService.loadUserByUsername(authentication.getName());
         User user = (User) userDetails;
-        return rentalService.getRentalsByUserId(userId, isActive, user);
+        return rentalService.scrollRentalsByUserId(userId, isActive, user, cursor, size);
     }
 
     @GetMapping("/{rentalId}")
     @Operation(summary = "Get a rental by id",
             description = "Get a rental by id")
+    @SqlStatementBudget(1)
     public RentalDto getRentalById(@PathVariable Long rentalId,
                                    Authentication authentication) {
         UserDetails userDetails = userDetailsService.loadUserByUsername(authentication.getName());
@@ -58,6 +79,7 @@ public class RentalController {
     @PreAuthorize("hasRole('CUSTOMER')")
     @Operation(summary = "Create a new rental",
             description = "Create a new rental")
+    @SqlStatementBudget(4)
     public RentalDto createRental(@RequestBody @Valid CreateRentalRequestDto requestDto,
             Authentication authentication) {
         UserDetails userDetails = userDetailsService.loadUserByUsername(authentication.getName());
@@ -69,6 +91,7 @@ public class RentalController {
     @PreAuthorize("hasRole('CUSTOMER')")
     @Operation(summary = "Set an actual return date for a rental",
             description = "Set an actual return date for a rental")
+    @SqlStatementBudget(6)
     public RentalDto setActualReturnDate(@PathVariable Long rentalId,
                                    Authentication authentication) {
         UserDetails userDetails = userDetailsService.loadUserByUsername(authentication.getName());
@@ -0,0 +1,11 @@
+package project.carsharingservice.dto.cache;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+public class ETaggedDto<T> {
+    private T content;
+    private String etag;
+}
@@ -0,0 +1,15 @@
+package project.carsharingservice.dto.car;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(chain = true)
+public class CarImportErrorDto {
+    private long row;
+    private String message;
+}
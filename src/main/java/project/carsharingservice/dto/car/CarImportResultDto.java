@@ -0,0 +1,13 @@
+package project.carsharingservice.dto.car;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+public class CarImportResultDto {
+    private int importedCount;
+    private List<CarImportErrorDto> errors = new ArrayList<>();
+}
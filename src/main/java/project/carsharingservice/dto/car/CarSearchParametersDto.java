@@ -0,0 +1,21 @@
+package project.carsharingservice.dto.car;
+
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.math.BigDecimal;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+public class CarSearchParametersDto {
+    @Pattern(regexp = "(?i)sedan|suv|hatchback|universal", message = "Invalid car type. "
+            + "It can be only sedan, suv, hatchback, or universal.")
+    private String type;
+    private String brand;
+    @PositiveOrZero
+    private BigDecimal minDailyFee;
+    @PositiveOrZero
+    private BigDecimal maxDailyFee;
+    private Boolean isAvailable;
+}
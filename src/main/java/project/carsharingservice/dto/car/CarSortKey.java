@@ -0,0 +1,6 @@
+package project.carsharingservice.dto.car;
+
+public enum CarSortKey {
+    ID,
+    DAILY_FEE
+}
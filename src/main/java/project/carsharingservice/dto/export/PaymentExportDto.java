@@ -0,0 +1,24 @@
+package project.carsharingservice.dto.export;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+import project.carsharingservice.model.Payment;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(chain = true)
+public class PaymentExportDto {
+    private Long id;
+    private Long rentalId;
+    private Long userId;
+    private LocalDate rentalDate;
+    private Payment.PaymentStatus paymentStatus;
+    private Payment.PaymentType paymentType;
+    private String sessionId;
+    private BigDecimal totalPrice;
+}
@@ -0,0 +1,11 @@
+package project.carsharingservice.dto.outbox;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+public class PaymentEventPayload {
+    private Long paymentId;
+    private Long rentalId;
+}
@@ -0,0 +1,13 @@
+package project.carsharingservice.dto.outbox;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+import project.carsharingservice.dto.car.CarDto;
+
+@Data
+@Accessors(chain = true)
+public class RentalEventPayload {
+    private Long rentalId;
+    private Long userId;
+    private CarDto car;
+}
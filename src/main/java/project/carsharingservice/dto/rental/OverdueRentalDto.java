@@ -0,0 +1,18 @@
+package project.carsharingservice.dto.rental;
+
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(chain = true)
+public class OverdueRentalDto {
+    private Long id;
+    private LocalDate returnDate;
+    private Long userId;
+    private Long carId;
+}
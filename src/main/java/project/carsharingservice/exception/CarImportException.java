@@ -0,0 +1,11 @@
+package project.carsharingservice.exception;
+
+public class CarImportException extends RuntimeException {
+    public CarImportException(String message) {
+        super(message);
+    }
+
+    public CarImportException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,7 @@
+package project.carsharingservice.exception;
+
+public class OutboxEventException extends RuntimeException {
+    public OutboxEventException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
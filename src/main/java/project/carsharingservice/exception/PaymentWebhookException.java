@@ -0,0 +1,11 @@
+package project.carsharingservice.exception;
+
+public class PaymentWebhookException extends RuntimeException {
+    public PaymentWebhookException(String message) {
+        super(message);
+    }
+
+    public PaymentWebhookException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,11 @@
+package project.carsharingservice.exception;
+
+public class PaymentWebhookUnavailableException extends RuntimeException {
+    public PaymentWebhookUnavailableException(String message) {
+        super(message);
+    }
+
+    public PaymentWebhookUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
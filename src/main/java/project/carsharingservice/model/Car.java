@@ -9,6 +9,11 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.experimental.Accessors;
@@ -46,6 +51,8 @@ public class Car {
         HATCHBACK("hatchback"),
         UNIVERSAL("universal");
 
+        private static final Map<String, Type> TYPES_BY_VALUE = Arrays.stream(values())
+                .collect(Collectors.toUnmodifiableMap(type -> type.value, Function.identity()));
         private final String value;
 
         Type(String value) {
@@ -53,12 +60,11 @@ public class Car {
         }
 
         public static Type findByValue(String value) {
-            for (Type type : values()) {
-                if (type.value.equalsIgnoreCase(value)) {
-                    return type;
-                }
+            Type type = value == null ? null : TYPES_BY_VALUE.get(value.toLowerCase(Locale.ROOT));
+            if (type == null) {
+                throw new IllegalArgumentException("No enum found with value: " + value);
             }
-            throw new IllegalArgumentException("No enum found with value: " + value);
+            return type;
         }
     }
 }
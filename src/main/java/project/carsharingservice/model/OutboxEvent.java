@@ -0,0 +1,52 @@
+package project.carsharingservice.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+@Entity
+@Table(name = "outbox_events")
+@Getter
+@Setter
+@Accessors(chain = true)
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(name = "event_type", columnDefinition = "varchar", nullable = false)
+    @Enumerated(value = EnumType.STRING)
+    private EventType eventType;
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+    @Column(name = "payload", columnDefinition = "text", nullable = false)
+    private String payload;
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    @Column(name = "status", columnDefinition = "varchar", nullable = false)
+    @Enumerated(value = EnumType.STRING)
+    private Status status = Status.PENDING;
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    public enum EventType {
+        RENTAL_CREATED,
+        RENTAL_RETURNED,
+        PAYMENT_SUCCEEDED
+    }
+
+    public enum Status {
+        PENDING,
+        DEAD
+    }
+}
@@ -12,6 +12,7 @@ import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
 import java.math.BigDecimal;
 import java.net.URL;
+import java.time.LocalDateTime;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.experimental.Accessors;
@@ -40,6 +41,10 @@ public class Payment {
     private String sessionId;
     @Column(name = "total_price", nullable = false)
     private BigDecimal totalPrice;
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+    @Column(name = "idempotency_key", unique = true)
+    private String idempotencyKey;
 
     public enum PaymentType {
         PAYMENT,
@@ -48,6 +53,7 @@ public class Payment {
 
     public enum PaymentStatus {
         PENDING,
-        PAID
+        PAID,
+        EXPIRED
     }
 }
@@ -0,0 +1,48 @@
+package project.carsharingservice.monitoring;
+
+import java.util.concurrent.TimeUnit;
+import lombok.extern.log4j.Log4j2;
+import org.hibernate.SessionEventListener;
+
+@Log4j2
+public class SlowQueryLogger implements SessionEventListener {
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executionStarted();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        executionFinished();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executionStarted();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        executionFinished();
+    }
+
+    private void executionStarted() {
+        SqlRequestContext context = SqlRequestContext.current();
+        if (context != null) {
+            context.executionStarted();
+        }
+    }
+
+    private void executionFinished() {
+        SqlRequestContext context = SqlRequestContext.current();
+        if (context == null) {
+            return;
+        }
+        long elapsedNanos = context.executionFinished();
+        if (context.isSlow(elapsedNanos)) {
+            log.warn("Slow query took {} ms during {}: {}",
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos), context.getRequest(),
+                    context.getSql());
+        }
+    }
+}
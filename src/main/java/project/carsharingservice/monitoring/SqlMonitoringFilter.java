@@ -0,0 +1,87 @@
+package project.carsharingservice.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Log4j2
+public class SqlMonitoringFilter extends OncePerRequestFilter {
+    private final double sampleRate;
+    private final Duration slowQueryThreshold;
+    private final int statementBudget;
+    private final Duration executionTimeBudget;
+
+    public SqlMonitoringFilter(@Value("${monitoring.slow-query.sample-rate}") double sampleRate,
+                               @Value("${monitoring.slow-query.threshold}")
+                               Duration slowQueryThreshold,
+                               @Value("${monitoring.sql.statement-budget}") int statementBudget,
+                               @Value("${monitoring.sql.execution-time-budget}")
+                               Duration executionTimeBudget) {
+        this.sampleRate = sampleRate;
+        this.slowQueryThreshold = slowQueryThreshold;
+        this.statementBudget = statementBudget;
+        this.executionTimeBudget = executionTimeBudget;
+    }
+
+    public static String getHandlerName(Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            return handlerMethod.getBeanType().getSimpleName() + "#"
+                    + handlerMethod.getMethod().getName();
+        }
+        return String.valueOf(handler);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        boolean sampled = ThreadLocalRandom.current().nextDouble() < sampleRate;
+        SqlRequestContext context = SqlRequestContext.open(
+                request.getMethod() + " " + request.getRequestURI(), sampled,
+                slowQueryThreshold);
+        request.setAttribute(SqlRequestContext.ATTRIBUTE, context);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlRequestContext.close();
+            checkBudget(context,
+                    request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE));
+        }
+    }
+
+    private void checkBudget(SqlRequestContext context, Object handler) {
+        int budget = getStatementBudget(handler);
+        if (context.getStatementCount() > budget
+                || context.getExecutionTime().compareTo(executionTimeBudget) > 0) {
+            log.warn("{} handled by {} executed {} SQL statements in {} ms, "
+                            + "budget is {} statements in {} ms",
+                    context.getRequest(), getHandlerName(handler),
+                    context.getStatementCount(), context.getExecutionTime().toMillis(),
+                    budget, executionTimeBudget.toMillis());
+        }
+    }
+
+    private int getStatementBudget(Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod
+                && handlerMethod.hasMethodAnnotation(SqlStatementBudget.class)) {
+            return handlerMethod.getMethodAnnotation(SqlStatementBudget.class).value();
+        }
+        return statementBudget;
+    }
+}
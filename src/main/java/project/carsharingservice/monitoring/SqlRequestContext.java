@@ -0,0 +1,88 @@
+package project.carsharingservice.monitoring;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+public final class SqlRequestContext {
+    public static final String ATTRIBUTE = SqlRequestContext.class.getName();
+    private static final ThreadLocal<SqlRequestContext> CURRENT = new ThreadLocal<>();
+    private final String request;
+    private final boolean sampled;
+    private final long slowQueryThresholdNanos;
+    private String sql;
+    private long executionStartNanos;
+    private int statementCount;
+    private long executionNanos;
+    private int excludedDepth;
+
+    private SqlRequestContext(String request, boolean sampled, Duration slowQueryThreshold) {
+        this.request = request;
+        this.sampled = sampled;
+        this.slowQueryThresholdNanos = slowQueryThreshold.toNanos();
+    }
+
+    public static SqlRequestContext open(String request, boolean sampled,
+                                         Duration slowQueryThreshold) {
+        SqlRequestContext context = new SqlRequestContext(request, sampled, slowQueryThreshold);
+        CURRENT.set(context);
+        return context;
+    }
+
+    public static void close() {
+        CURRENT.remove();
+    }
+
+    public static SqlRequestContext current() {
+        return CURRENT.get();
+    }
+
+    public static <T> T excludeFromBudget(Supplier<T> action) {
+        SqlRequestContext context = CURRENT.get();
+        if (context == null) {
+            return action.get();
+        }
+        context.excludedDepth++;
+        try {
+            return action.get();
+        } finally {
+            context.excludedDepth--;
+        }
+    }
+
+    public String getRequest() {
+        return request;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public Duration getExecutionTime() {
+        return Duration.ofNanos(executionNanos);
+    }
+
+    public boolean isSlow(long elapsedNanos) {
+        return sampled && elapsedNanos >= slowQueryThresholdNanos;
+    }
+
+    void statementPrepared(String sql) {
+        this.sql = sql;
+    }
+
+    void executionStarted() {
+        executionStartNanos = System.nanoTime();
+    }
+
+    long executionFinished() {
+        long elapsedNanos = System.nanoTime() - executionStartNanos;
+        if (excludedDepth == 0) {
+            statementCount++;
+            executionNanos += elapsedNanos;
+        }
+        return elapsedNanos;
+    }
+}
@@ -0,0 +1,14 @@
+package project.carsharingservice.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+public class SqlStatementInspector implements StatementInspector {
+    @Override
+    public String inspect(String sql) {
+        SqlRequestContext context = SqlRequestContext.current();
+        if (context != null) {
+            context.statementPrepared(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,41 @@
+package project.carsharingservice.repository;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import project.carsharingservice.model.Car;
+
+@Repository
+@RequiredArgsConstructor
+public class CarBatchRepository {
+    private static final String INSERT_CAR = "INSERT INTO cars "
+            + "(brand, model, type, inventory, daily_fee, is_deleted) "
+            + "VALUES (?, ?, ?, ?, ?, false)";
+    private static final String SELECT_EXISTING_MODELS =
+            "SELECT model FROM cars WHERE model IN (:models)";
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public void insertAll(List<Car> cars) {
+        namedParameterJdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_CAR, cars, cars.size(),
+                (statement, car) -> {
+                    statement.setString(1, car.getBrand());
+                    statement.setString(2, car.getModel());
+                    statement.setString(3, car.getType().name());
+                    statement.setInt(4, car.getInventory());
+                    statement.setBigDecimal(5, car.getDailyFee());
+                });
+    }
+
+    public Set<String> findExistingModels(Collection<String> models) {
+        if (models.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(namedParameterJdbcTemplate.queryForList(SELECT_EXISTING_MODELS,
+                Map.of("models", models), String.class));
+    }
+}
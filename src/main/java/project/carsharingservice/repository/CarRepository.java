@@ -1,7 +1,41 @@
 package project.carsharingservice.repository;
 
+import java.math.BigDecimal;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import project.carsharingservice.dto.car.CarAvailabilityDto;
 import project.carsharingservice.model.Car;
 
-public interface CarRepository extends JpaRepository<Car, Long> {
+public interface CarRepository extends JpaRepository<Car, Long>, JpaSpecificationExecutor<Car> {
+    @Modifying
+    @Query("UPDATE Car c SET c.inventory = c.inventory - 1 "
+            + "WHERE c.id = :carId AND c.inventory > 0 AND c.isDeleted = false")
+    int decreaseInventory(Long carId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Car c SET c.inventory = c.inventory + 1 "
+            + "WHERE c.id = :carId AND c.isDeleted = false")
+    int increaseInventory(Long carId);
+
+    @Query("FROM Car c ORDER BY c.id")
+    List<Car> findFirstPageOrderById(Pageable pageable);
+
+    @Query("FROM Car c WHERE c.id > :lastId ORDER BY c.id")
+    List<Car> findPageAfterId(Long lastId, Pageable pageable);
+
+    @Query("FROM Car c ORDER BY c.dailyFee, c.id")
+    List<Car> findFirstPageOrderByDailyFee(Pageable pageable);
+
+    @Query("FROM Car c WHERE c.dailyFee > :lastDailyFee "
+            + "OR (c.dailyFee = :lastDailyFee AND c.id > :lastId) "
+            + "ORDER BY c.dailyFee, c.id")
+    List<Car> findPageAfterDailyFee(BigDecimal lastDailyFee, Long lastId, Pageable pageable);
+
+    @Query("SELECT new project.carsharingservice.dto.car.CarAvailabilityDto(c.id, c.inventory) "
+            + "FROM Car c")
+    List<CarAvailabilityDto> findAllAvailability();
 }
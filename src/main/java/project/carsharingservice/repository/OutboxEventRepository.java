@@ -0,0 +1,28 @@
+package project.carsharingservice.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import project.carsharingservice.model.OutboxEvent;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    @Query(value = "SELECT * FROM outbox_events WHERE status = 'PENDING' "
+            + "AND next_attempt_at <= :now ORDER BY id LIMIT :limit "
+            + "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> findBatchForUpdate(LocalDateTime now, int limit);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, "
+            + "e.nextAttemptAt = :claimedUntil WHERE e.id IN :ids")
+    int claim(List<Long> ids, LocalDateTime claimedUntil);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.nextAttemptAt = :nextAttemptAt WHERE e.id = :id")
+    int reschedule(Long id, LocalDateTime nextAttemptAt);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = :status WHERE e.id = :id")
+    int updateStatus(Long id, OutboxEvent.Status status);
+}
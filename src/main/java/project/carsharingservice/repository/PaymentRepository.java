@@ -1,9 +1,19 @@
 package project.carsharingservice.repository;
 
+import jakarta.persistence.QueryHint;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import project.carsharingservice.dto.export.PaymentExportDto;
 import project.carsharingservice.model.Payment;
 
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
@@ -11,7 +21,43 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
             + "WHERE u.id = :userId")
     List<Payment> findAllByUserId(long userId);
 
+    @Query("FROM Payment p JOIN FETCH p.rental r "
+            + "WHERE r.user.id = :userId ORDER BY p.id")
+    List<Payment> findFirstPageByUserId(long userId, Pageable pageable);
+
+    @Query("FROM Payment p JOIN FETCH p.rental r "
+            + "WHERE r.user.id = :userId AND p.id > :lastId ORDER BY p.id")
+    List<Payment> findPageByUserIdAfter(long userId, long lastId, Pageable pageable);
+
     @Query("FROM Payment p LEFT JOIN FETCH p.rental r "
             + "WHERE p.paymentStatus = 'PAID' AND r.id = :rentalId")
     Optional<Payment> findSuccessfulPaymentByRentalId(long rentalId);
+
+    @Query("FROM Payment p JOIN FETCH p.rental r "
+            + "WHERE p.paymentStatus = 'PENDING' AND r.id = :rentalId "
+            + "AND p.expiresAt > :validUntil ORDER BY p.expiresAt DESC LIMIT 1")
+    Optional<Payment> findPendingPaymentByRentalId(long rentalId, LocalDateTime validUntil);
+
+    @Modifying
+    @Query(value = "UPDATE payments SET payment_status = 'EXPIRED' "
+            + "WHERE payment_status = 'PENDING' AND expires_at < :expiredBefore "
+            + "ORDER BY expires_at LIMIT :limit", nativeQuery = true)
+    int expirePendingPayments(LocalDateTime expiredBefore, int limit);
+
+    @EntityGraph(attributePaths = "rental")
+    Optional<Payment> findByIdempotencyKey(String idempotencyKey);
+
+    @EntityGraph(attributePaths = "rental")
+    Optional<Payment> findBySessionId(String sessionId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new project.carsharingservice.dto.export.PaymentExportDto("
+            + "p.id, r.id, r.user.id, r.rentalDate, p.paymentStatus, p.paymentType, "
+            + "p.sessionId, p.totalPrice) "
+            + "FROM Payment p JOIN p.rental r "
+            + "WHERE r.rentalDate BETWEEN :from AND :to ORDER BY p.id")
+    Stream<PaymentExportDto> streamForExport(LocalDate from, LocalDate to);
 }
@@ -0,0 +1,69 @@
+package project.carsharingservice.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import project.carsharingservice.dto.outbox.PaymentEventPayload;
+
+@Repository
+@RequiredArgsConstructor
+public class PaymentWebhookRepository {
+    private static final String SELECT_PROCESSED_EVENT_IDS =
+            "SELECT event_id FROM payment_webhook_events WHERE event_id IN (:eventIds)";
+    private static final String INSERT_PROCESSED_EVENT =
+            "INSERT INTO payment_webhook_events (event_id, received_at) VALUES (?, ?)";
+    private static final String SELECT_PENDING_PAYMENTS =
+            "SELECT id, rental_id, session_id FROM payments "
+            + "WHERE payment_status IN ('PENDING', 'EXPIRED') "
+            + "AND session_id IN (:sessionIds) FOR UPDATE";
+    private static final String MARK_PAID = "UPDATE payments SET payment_status = 'PAID' "
+            + "WHERE payment_status IN ('PENDING', 'EXPIRED') AND session_id IN (:sessionIds)";
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public Set<String> findProcessedEventIds(Collection<String> eventIds) {
+        if (eventIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(namedParameterJdbcTemplate.queryForList(SELECT_PROCESSED_EVENT_IDS,
+                Map.of("eventIds", eventIds), String.class));
+    }
+
+    public void insertProcessedEvents(List<String> eventIds, LocalDateTime receivedAt) {
+        Timestamp timestamp = Timestamp.valueOf(receivedAt);
+        namedParameterJdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_PROCESSED_EVENT,
+                eventIds, eventIds.size(), (statement, eventId) -> {
+                    statement.setString(1, eventId);
+                    statement.setTimestamp(2, timestamp);
+                });
+    }
+
+    public Map<String, PaymentEventPayload> findPendingPaymentsForUpdate(
+            Collection<String> sessionIds) {
+        Map<String, PaymentEventPayload> payments = new HashMap<>();
+        if (sessionIds.isEmpty()) {
+            return payments;
+        }
+        namedParameterJdbcTemplate.query(SELECT_PENDING_PAYMENTS, Map.of("sessionIds", sessionIds),
+                (RowCallbackHandler) resultSet -> payments.put(resultSet.getString("session_id"),
+                        new PaymentEventPayload()
+                                .setPaymentId(resultSet.getLong("id"))
+                                .setRentalId(resultSet.getLong("rental_id"))));
+        return payments;
+    }
+
+    public int markPaid(Collection<String> sessionIds) {
+        if (sessionIds.isEmpty()) {
+            return 0;
+        }
+        return namedParameterJdbcTemplate.update(MARK_PAID, Map.of("sessionIds", sessionIds));
+    }
+}
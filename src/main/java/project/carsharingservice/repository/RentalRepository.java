@@ -1,12 +1,60 @@
 package project.carsharingservice.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import project.carsharingservice.dto.export.RentalExportDto;
+import project.carsharingservice.dto.rental.OverdueRentalDto;
 import project.carsharingservice.model.Rental;
 
-public interface RentalRepository extends JpaRepository<Rental, Long> {
+public interface RentalRepository extends JpaRepository<Rental, Long>,
+        JpaSpecificationExecutor<Rental> {
     List<Rental> findAllByUserId(Long userId);
 
+    @Override
+    @EntityGraph(attributePaths = "car")
+    Optional<Rental> findById(Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @EntityGraph(attributePaths = "car")
+    @Query("FROM Rental r WHERE r.id = :id")
+    Optional<Rental> findByIdForUpdate(Long id);
+
+    @EntityGraph(attributePaths = "car")
     Optional<Rental> findRentalByIdAndUserId(Long rentalId, Long userId);
+
+    @Query("SELECT new project.carsharingservice.dto.rental.OverdueRentalDto("
+            + "r.id, r.returnDate, r.user.id, r.car.id) FROM Rental r "
+            + "WHERE r.actualReturnDate IS NULL AND r.returnDate < :today "
+            + "ORDER BY r.returnDate, r.id")
+    List<OverdueRentalDto> findOverdueRentals(LocalDate today, Pageable pageable);
+
+    @Query("SELECT new project.carsharingservice.dto.rental.OverdueRentalDto("
+            + "r.id, r.returnDate, r.user.id, r.car.id) FROM Rental r "
+            + "WHERE r.actualReturnDate IS NULL AND r.returnDate < :today "
+            + "AND (r.returnDate > :lastReturnDate "
+            + "OR (r.returnDate = :lastReturnDate AND r.id > :lastId)) "
+            + "ORDER BY r.returnDate, r.id")
+    List<OverdueRentalDto> findOverdueRentalsAfter(LocalDate today, LocalDate lastReturnDate,
+                                                   Long lastId, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new project.carsharingservice.dto.export.RentalExportDto("
+            + "r.id, r.rentalDate, r.returnDate, r.actualReturnDate, r.car.id, r.user.id) "
+            + "FROM Rental r WHERE r.rentalDate BETWEEN :from AND :to ORDER BY r.id")
+    Stream<RentalExportDto> streamForExport(LocalDate from, LocalDate to);
 }
@@ -0,0 +1,41 @@
+package project.carsharingservice.repository.specification;
+
+import java.math.BigDecimal;
+import org.springframework.data.jpa.domain.Specification;
+import project.carsharingservice.model.Car;
+
+public final class CarSpecifications {
+    private static final String TYPE_FIELD = "type";
+    private static final String BRAND_FIELD = "brand";
+    private static final String DAILY_FEE_FIELD = "dailyFee";
+    private static final String INVENTORY_FIELD = "inventory";
+
+    private CarSpecifications() {
+    }
+
+    public static Specification<Car> hasType(Car.Type type) {
+        return (root, query, criteriaBuilder) ->
+                criteriaBuilder.equal(root.get(TYPE_FIELD), type);
+    }
+
+    public static Specification<Car> hasBrand(String brand) {
+        return (root, query, criteriaBuilder) ->
+                criteriaBuilder.equal(root.get(BRAND_FIELD), brand);
+    }
+
+    public static Specification<Car> hasDailyFeeFrom(BigDecimal minDailyFee) {
+        return (root, query, criteriaBuilder) ->
+                criteriaBuilder.greaterThanOrEqualTo(root.get(DAILY_FEE_FIELD), minDailyFee);
+    }
+
+    public static Specification<Car> hasDailyFeeTo(BigDecimal maxDailyFee) {
+        return (root, query, criteriaBuilder) ->
+                criteriaBuilder.lessThanOrEqualTo(root.get(DAILY_FEE_FIELD), maxDailyFee);
+    }
+
+    public static Specification<Car> isAvailable(boolean isAvailable) {
+        return (root, query, criteriaBuilder) -> isAvailable
+                ? criteriaBuilder.greaterThan(root.get(INVENTORY_FIELD), 0)
+                : criteriaBuilder.equal(root.get(INVENTORY_FIELD), 0);
+    }
+}
@@ -0,0 +1,29 @@
+package project.carsharingservice.repository.specification;
+
+import org.springframework.data.jpa.domain.Specification;
+import project.carsharingservice.model.Rental;
+
+public final class RentalSpecifications {
+    private static final String USER_FIELD = "user";
+    private static final String ID_FIELD = "id";
+    private static final String ACTUAL_RETURN_DATE_FIELD = "actualReturnDate";
+
+    private RentalSpecifications() {
+    }
+
+    public static Specification<Rental> hasUserId(Long userId) {
+        return (root, query, criteriaBuilder) ->
+                criteriaBuilder.equal(root.get(USER_FIELD).get(ID_FIELD), userId);
+    }
+
+    public static Specification<Rental> isActive(boolean isActive) {
+        return (root, query, criteriaBuilder) -> isActive
+                ? criteriaBuilder.isNull(root.get(ACTUAL_RETURN_DATE_FIELD))
+                : criteriaBuilder.isNotNull(root.get(ACTUAL_RETURN_DATE_FIELD));
+    }
+
+    public static Specification<Rental> hasIdGreaterThan(Long lastId) {
+        return (root, query, criteriaBuilder) ->
+                criteriaBuilder.greaterThan(root.get(ID_FIELD), lastId);
+    }
+}
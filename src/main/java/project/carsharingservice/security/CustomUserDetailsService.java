@@ -5,16 +5,19 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import project.carsharingservice.monitoring.SqlRequestContext;
 import project.carsharingservice.repository.UserRepository;
 
 @Service
 @RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
     private final UserRepository userRepository;
+    private final UserPrincipalCache userPrincipalCache;
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        return userRepository.findByEmail(email).orElseThrow(
-                        () -> new UsernameNotFoundException("Can't find user with email " + email));
+        return userPrincipalCache.get(email, key -> SqlRequestContext.excludeFromBudget(
+                () -> userRepository.findByEmail(key)).orElseThrow(
+                        () -> new UsernameNotFoundException("Can't find user with email " + key)));
     }
 }
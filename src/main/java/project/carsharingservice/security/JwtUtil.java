@@ -1,25 +1,45 @@
 package project.carsharingservice.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import java.nio.charset.StandardCharsets;
-import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
-import java.util.function.Function;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.SecretKey;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Component
 public class JwtUtil {
-    private final Key secret;
-    @Value("${JWT_EXPIRATION}")
-    private long expiration;
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private final SecretKey secret;
+    private final long expiration;
+    private final JwtParser jwtParser;
+    private final Cache<String, Claims> verifiedTokens;
 
-    public JwtUtil(@Value("${JWT_SECRET}") String secretString) {
-        secret = Keys.hmacShaKeyFor(secretString.getBytes(StandardCharsets.UTF_8));
+    public JwtUtil(@Value("${JWT_SECRET}") String secretString,
+                   @Value("${JWT_EXPIRATION}") long expiration,
+                   @Value("${security.jwt.verified-token-cache.max-size}") long cacheMaxSize) {
+        this.secret = Keys.hmacShaKeyFor(secretString.getBytes(StandardCharsets.UTF_8));
+        this.expiration = expiration;
+        this.jwtParser = Jwts.parser()
+                .verifyWith(secret)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new TokenExpiry())
+                .build();
     }
 
     public String generateToken(String email) {
@@ -31,28 +51,70 @@ public class JwtUtil {
                 .compact();
     }
 
+    public Claims getValidClaims(String token) {
+        String digest = digest(token);
+        Claims claims = verifiedTokens.getIfPresent(digest);
+        if (claims != null && claims.getExpiration().after(new Date())) {
+            return claims;
+        }
+        claims = parseClaims(token);
+        verifiedTokens.put(digest, claims);
+        return claims;
+    }
+
     public boolean isValidToken(String token) {
+        return getValidClaims(token) != null;
+    }
+
+    public String getUserName(String token) {
+        return getValidClaims(token).getSubject();
+    }
+
+    Optional<Duration> getCachedTokenExpiry(String token) {
+        return verifiedTokens.policy().expireVariably()
+                .flatMap(expiry -> expiry.getExpiresAfter(digest(token)));
+    }
+
+    private Claims parseClaims(String token) {
         try {
-            Jws<Claims> claimsJws = Jwts.parser()
-                    .setSigningKey(secret)
-                    .build()
-                    .parseClaimsJws(token);
-            return !claimsJws.getBody().getExpiration().before(new Date());
+            Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+            if (claims.getExpiration() == null || claims.getExpiration().before(new Date())) {
+                throw new JwtException("Token has no valid expiration");
+            }
+            return claims;
         } catch (JwtException | IllegalArgumentException e) {
             throw new JwtException("Expired or invalid JWT token");
         }
     }
 
-    public String getUserName(String token) {
-        return getClaimsFromToken(token, Claims::getSubject);
+    private String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance(DIGEST_ALGORITHM)
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Can't create " + DIGEST_ALGORITHM + " digest", e);
+        }
     }
 
-    private <T> T getClaimsFromToken(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = Jwts.parser()
-                .setSigningKey(secret)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claimsResolver.apply(claims);
+    private static class TokenExpiry implements Expiry<String, Claims> {
+        @Override
+        public long expireAfterCreate(String digest, Claims claims, long currentTime) {
+            long millisToExpiration = claims.getExpiration().getTime()
+                    - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, millisToExpiration));
+        }
+
+        @Override
+        public long expireAfterUpdate(String digest, Claims claims,
+                                      long currentTime, long currentDuration) {
+            return expireAfterCreate(digest, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String digest, Claims claims,
+                                    long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
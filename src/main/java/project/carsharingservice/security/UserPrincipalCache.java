@@ -0,0 +1,52 @@
+package project.carsharingservice.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import project.carsharingservice.model.User;
+import project.carsharingservice.service.event.UserPrincipalChangedEvent;
+
+@Component
+public class UserPrincipalCache {
+    private static final String CACHE_NAME = "principals";
+    private final Cache<String, User> cache;
+
+    public UserPrincipalCache(@Value("${security.principal-cache.max-size}") long maxSize,
+                              @Value("${security.principal-cache.ttl}") Duration ttl,
+                              MeterRegistry meterRegistry) {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public User get(String email, Function<String, User> loader) {
+        return cache.get(email, loader);
+    }
+
+    public void evict(String email) {
+        cache.invalidate(email);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserPrincipalChanged(UserPrincipalChangedEvent event) {
+        evict(event.email());
+    }
+
+    public void evictByUserId(Long userId) {
+        cache.asMap().values().removeIf(user -> userId.equals(user.getId()));
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+}
@@ -0,0 +1,12 @@
+package project.carsharingservice.service;
+
+import java.io.InputStream;
+import java.util.List;
+import project.carsharingservice.dto.car.AddNewCarRequestDto;
+import project.carsharingservice.dto.car.CarImportResultDto;
+
+public interface CarImportService {
+    CarImportResultDto importCars(List<AddNewCarRequestDto> requestDtos);
+
+    CarImportResultDto importCarsFromCsv(InputStream csv);
+}
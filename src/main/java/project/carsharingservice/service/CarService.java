@@ -2,14 +2,25 @@ package project.carsharingservice.service;
 
 import java.util.List;
 import org.springframework.data.domain.Pageable;
+import project.carsharingservice.dto.cache.ETaggedDto;
 import project.carsharingservice.dto.car.AddNewCarRequestDto;
+import project.carsharingservice.dto.car.CarAvailabilityDto;
 import project.carsharingservice.dto.car.CarDto;
+import project.carsharingservice.dto.car.CarSearchParametersDto;
+import project.carsharingservice.dto.car.CarSortKey;
 import project.carsharingservice.dto.car.UpdateCarInfoRequestDto;
+import project.carsharingservice.dto.page.CursorPageDto;
 
 public interface CarService {
-    List<CarDto> getAllCars(Pageable pageable);
+    ETaggedDto<List<CarDto>> getAllCars(Pageable pageable);
 
-    CarDto getCarById(Long carId);
+    List<CarDto> searchCars(CarSearchParametersDto searchParameters, Pageable pageable);
+
+    CursorPageDto<CarDto> scrollCars(CarSortKey sortKey, String cursor, int size);
+
+    List<CarAvailabilityDto> getCarsAvailability();
+
+    ETaggedDto<CarDto> getCarById(Long carId);
 
     CarDto addNewCar(AddNewCarRequestDto requestDto);
 
@@ -0,0 +1,11 @@
+package project.carsharingservice.service;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+import project.carsharingservice.dto.export.ExportFormat;
+
+public interface ExportService {
+    void exportRentals(LocalDate from, LocalDate to, ExportFormat format, OutputStream output);
+
+    void exportPayments(LocalDate from, LocalDate to, ExportFormat format, OutputStream output);
+}
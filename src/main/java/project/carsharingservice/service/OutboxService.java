@@ -0,0 +1,9 @@
+package project.carsharingservice.service;
+
+import project.carsharingservice.model.OutboxEvent;
+
+public interface OutboxService {
+    void publish(OutboxEvent.EventType eventType, Long aggregateId, Object payload);
+
+    <T> T readPayload(OutboxEvent event, Class<T> payloadType);
+}
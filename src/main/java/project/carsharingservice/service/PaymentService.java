@@ -1,14 +1,20 @@
 package project.carsharingservice.service;
 
 import java.util.List;
+import project.carsharingservice.dto.page.CursorPageDto;
 import project.carsharingservice.dto.payment.MakePaymentRequestDto;
 import project.carsharingservice.dto.payment.PaymentDto;
 import project.carsharingservice.model.User;
 
 public interface PaymentService {
-    PaymentDto createPaymentSession(MakePaymentRequestDto requestDto, User user);
+    PaymentDto createPaymentSession(MakePaymentRequestDto requestDto,
+                                    User user,
+                                    String idempotencyKey);
 
     List<PaymentDto> getAllPaymentsByUserId(long userId, User user);
 
-    void verifySuccessfulPayment(long paymentId);
+    CursorPageDto<PaymentDto> scrollPaymentsByUserId(long userId,
+                                                     User user,
+                                                     String cursor,
+                                                     int size);
 }
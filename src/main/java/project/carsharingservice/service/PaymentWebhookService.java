@@ -0,0 +1,5 @@
+package project.carsharingservice.service;
+
+public interface PaymentWebhookService {
+    void handleEvent(String payload, String signature);
+}
@@ -1,6 +1,8 @@
 package project.carsharingservice.service;
 
 import java.util.List;
+import org.springframework.data.domain.Pageable;
+import project.carsharingservice.dto.page.CursorPageDto;
 import project.carsharingservice.dto.rental.CreateRentalRequestDto;
 import project.carsharingservice.dto.rental.RentalDto;
 import project.carsharingservice.dto.rental.RentalDtoWithoutCarInfo;
@@ -9,7 +11,14 @@ import project.carsharingservice.model.User;
 public interface RentalService {
     List<RentalDtoWithoutCarInfo> getRentalsByUserId(Long userId,
                                                      Boolean isRentalActive,
-                                                     User user);
+                                                     User user,
+                                                     Pageable pageable);
+
+    CursorPageDto<RentalDtoWithoutCarInfo> scrollRentalsByUserId(Long userId,
+                                                                 Boolean isRentalActive,
+                                                                 User user,
+                                                                 String cursor,
+                                                                 int size);
 
     RentalDto getRentalById(Long rentalId, User user);
 
@@ -0,0 +1,126 @@
+package project.carsharingservice.service.availability;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import project.carsharingservice.dto.car.CarAvailabilityDto;
+import project.carsharingservice.repository.CarRepository;
+import project.carsharingservice.service.event.CarCatalogueChangedEvent;
+import project.carsharingservice.service.event.CarInventoryChangedEvent;
+import project.carsharingservice.service.event.CarsImportedEvent;
+
+@Component
+@Log4j2
+public class CarAvailabilityIndex {
+    private final CarRepository carRepository;
+    private final Map<Long, AtomicReference<Availability>> availability =
+            new ConcurrentHashMap<>();
+    private final Counter driftCounter;
+
+    public CarAvailabilityIndex(CarRepository carRepository, MeterRegistry meterRegistry) {
+        this.carRepository = carRepository;
+        this.driftCounter = meterRegistry.counter("car.availability.drift");
+        meterRegistry.gaugeMapSize("car.availability.cars", List.of(), availability);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        carRepository.findAllAvailability().forEach(car -> availability.putIfAbsent(
+                car.getCarId(), new AtomicReference<>(new Availability(car.getAvailable(), 0))));
+        log.info("Loaded availability of {} cars", availability.size());
+    }
+
+    public List<CarAvailabilityDto> getAvailability() {
+        return availability.entrySet().stream()
+                .map(entry -> new CarAvailabilityDto(entry.getKey(),
+                        entry.getValue().get().available()))
+                .sorted(Comparator.comparing(CarAvailabilityDto::getCarId))
+                .toList();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarInventoryChanged(CarInventoryChangedEvent event) {
+        AtomicReference<Availability> counter = availability.get(event.carId());
+        if (counter != null) {
+            counter.updateAndGet(current -> current.add(event.inventoryDelta()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarCatalogueChanged(CarCatalogueChangedEvent event) {
+        carRepository.findById(event.carId()).ifPresentOrElse(
+                car -> availability.computeIfAbsent(car.getId(),
+                                id -> new AtomicReference<>(new Availability(0, 0)))
+                        .updateAndGet(current -> current.set(car.getInventory())),
+                () -> availability.remove(event.carId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarsImported(CarsImportedEvent event) {
+        load();
+    }
+
+    @Scheduled(fixedDelayString = "${car.availability.reconcile-interval-ms}",
+            initialDelayString = "${car.availability.reconcile-interval-ms}")
+    public void reconcile() {
+        Map<Long, Availability> indexed = new HashMap<>();
+        availability.forEach((carId, counter) -> indexed.put(carId, counter.get()));
+        Map<Long, Integer> actual = carRepository.findAllAvailability().stream()
+                .collect(Collectors.toMap(CarAvailabilityDto::getCarId,
+                        CarAvailabilityDto::getAvailable));
+        int driftedCars = 0;
+        int skippedCars = 0;
+        for (Map.Entry<Long, Integer> entry : actual.entrySet()) {
+            Availability seen = indexed.get(entry.getKey());
+            if (seen == null) {
+                if (availability.putIfAbsent(entry.getKey(), new AtomicReference<>(
+                        new Availability(entry.getValue(), 0))) == null) {
+                    driftedCars++;
+                }
+            } else if (seen.available() != entry.getValue()) {
+                // A delta committed after the snapshot was read replaces the Availability
+                // instance, so the stale database value must not overwrite it
+                AtomicReference<Availability> counter = availability.get(entry.getKey());
+                if (counter != null && counter.compareAndSet(seen, seen.set(entry.getValue()))) {
+                    driftedCars++;
+                    log.warn("Availability of car with id {} drifted: indexed {}, actual {}",
+                            entry.getKey(), seen.available(), entry.getValue());
+                } else {
+                    skippedCars++;
+                }
+            }
+        }
+        for (Map.Entry<Long, Availability> entry : indexed.entrySet()) {
+            if (!actual.containsKey(entry.getKey()) && availability.computeIfPresent(
+                    entry.getKey(), (carId, counter) -> counter.get() == entry.getValue()
+                            ? null : counter) == null) {
+                driftedCars++;
+            }
+        }
+        driftCounter.increment(driftedCars);
+        log.info("Reconciled availability of {} cars, {} drifted, {} changed during reconcile",
+                actual.size(), driftedCars, skippedCars);
+    }
+
+    private record Availability(int available, long version) {
+        Availability add(int delta) {
+            return new Availability(available + delta, version + 1);
+        }
+
+        Availability set(int newAvailable) {
+            return new Availability(newAvailable, version + 1);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package project.carsharingservice.service.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import project.carsharingservice.dto.cache.ETaggedDto;
+import project.carsharingservice.dto.car.CarDto;
+import project.carsharingservice.service.event.CarCatalogueChangedEvent;
+import project.carsharingservice.service.event.CarInventoryChangedEvent;
+import project.carsharingservice.service.event.CarsImportedEvent;
+
+@Component
+public class CarCatalogueCache {
+    private static final String INVENTORY_PROPERTY = "inventory";
+    private static final String ETAG_ALGORITHM = "SHA-256";
+    private final ObjectMapper objectMapper;
+    private final Cache<Long, ETaggedDto<CarDto>> cars;
+    private final Cache<Pageable, List<Long>> pages;
+
+    public CarCatalogueCache(@Value("${cache.cars.max-size}") long carsMaxSize,
+                             @Value("${cache.car-pages.max-size}") long pagesMaxSize,
+                             @Value("${cache.cars.expire-after-write}")
+                             Duration carsExpireAfterWrite,
+                             @Value("${cache.car-pages.expire-after-write}")
+                             Duration pagesExpireAfterWrite,
+                             ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        cars = Caffeine.newBuilder()
+                .maximumSize(carsMaxSize)
+                .expireAfterWrite(carsExpireAfterWrite)
+                .recordStats()
+                .build();
+        pages = Caffeine.newBuilder()
+                .maximumSize(pagesMaxSize)
+                .expireAfterWrite(pagesExpireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cars, "cars");
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, "car-pages");
+    }
+
+    public ETaggedDto<CarDto> getCar(Long carId, Function<Long, CarDto> loader) {
+        return cars.get(carId, id -> tag(loader.apply(id)));
+    }
+
+    public ETaggedDto<List<CarDto>> getPage(
+            Pageable pageable,
+            Function<Pageable, List<CarDto>> pageLoader,
+            Function<Set<? extends Long>, Map<Long, CarDto>> carsLoader) {
+        List<Long> carIds = pages.get(pageable, key -> {
+            List<CarDto> page = pageLoader.apply(key);
+            page.forEach(car -> cars.put(car.getId(), tag(car)));
+            return page.stream().map(CarDto::getId).toList();
+        });
+        List<ETaggedDto<CarDto>> page = List.copyOf(cars.getAll(carIds, ids -> {
+            Map<Long, ETaggedDto<CarDto>> loaded = new LinkedHashMap<>();
+            carsLoader.apply(ids).forEach((id, car) -> loaded.put(id, tag(car)));
+            return loaded;
+        }).values());
+        return new ETaggedDto<List<CarDto>>()
+                .setContent(page.stream().map(ETaggedDto::getContent).toList())
+                .setEtag(digest(page.stream().map(ETaggedDto::getEtag)
+                        .collect(Collectors.joining(",")).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarInventoryChanged(CarInventoryChangedEvent event) {
+        cars.invalidate(event.carId());
+        pages.asMap().keySet().removeIf(
+                pageable -> pageable.getSort().getOrderFor(INVENTORY_PROPERTY) != null);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarCatalogueChanged(CarCatalogueChangedEvent event) {
+        cars.invalidate(event.carId());
+        pages.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarsImported(CarsImportedEvent event) {
+        pages.invalidateAll();
+    }
+
+    private ETaggedDto<CarDto> tag(CarDto car) {
+        try {
+            return new ETaggedDto<CarDto>()
+                    .setContent(car)
+                    .setEtag(digest(objectMapper.writeValueAsBytes(car)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Can't create ETag of car " + car.getId(), e);
+        }
+    }
+
+    private String digest(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance(ETAG_ALGORITHM)
+                    .digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Can't create " + ETAG_ALGORITHM + " digest", e);
+        }
+    }
+}
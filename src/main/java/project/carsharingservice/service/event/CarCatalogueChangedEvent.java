@@ -0,0 +1,4 @@
+package project.carsharingservice.service.event;
+
+public record CarCatalogueChangedEvent(Long carId) {
+}
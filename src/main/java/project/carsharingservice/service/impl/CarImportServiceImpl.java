@@ -0,0 +1,240 @@
+package project.carsharingservice.service.impl;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import project.carsharingservice.dto.car.AddNewCarRequestDto;
+import project.carsharingservice.dto.car.CarImportErrorDto;
+import project.carsharingservice.dto.car.CarImportResultDto;
+import project.carsharingservice.exception.CarImportException;
+import project.carsharingservice.mapper.CarMapper;
+import project.carsharingservice.model.Car;
+import project.carsharingservice.repository.CarBatchRepository;
+import project.carsharingservice.service.CarImportService;
+import project.carsharingservice.service.event.CarsImportedEvent;
+
+@Service
+@Log4j2
+public class CarImportServiceImpl implements CarImportService {
+    private static final String CSV_HEADER = "brand,model,type,inventory,dailyFee";
+    private static final int CSV_COLUMNS = 5;
+    private static final String BYTE_ORDER_MARK = "\uFEFF";
+    private static final char CSV_QUOTE = '"';
+    private final CarBatchRepository carBatchRepository;
+    private final CarMapper carMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+
+    public CarImportServiceImpl(CarBatchRepository carBatchRepository,
+                                CarMapper carMapper,
+                                Validator validator,
+                                TransactionTemplate transactionTemplate,
+                                ApplicationEventPublisher eventPublisher,
+                                @Value("${car.import.batch-size}") int batchSize) {
+        this.carBatchRepository = carBatchRepository;
+        this.carMapper = carMapper;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public CarImportResultDto importCars(List<AddNewCarRequestDto> requestDtos) {
+        CarImport carImport = new CarImport();
+        for (int i = 0; i < requestDtos.size(); i++) {
+            carImport.add(i + 1, requestDtos.get(i));
+        }
+        return carImport.finish();
+    }
+
+    @Override
+    public CarImportResultDto importCarsFromCsv(InputStream csv) {
+        CarImport carImport = new CarImport();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            String header = reader.readLine();
+            if (header == null
+                    || !CSV_HEADER.equalsIgnoreCase(header.replace(BYTE_ORDER_MARK, "").strip())) {
+                throw new CarImportException("CSV file must start with the header " + CSV_HEADER);
+            }
+            long row = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                row++;
+                if (!line.isBlank()) {
+                    addCsvRow(carImport, row, line);
+                }
+            }
+        } catch (IOException e) {
+            throw new CarImportException("Can't read CSV file", e);
+        }
+        return carImport.finish();
+    }
+
+    private void addCsvRow(CarImport carImport, long row, String line) {
+        List<String> columns = splitCsvLine(line);
+        if (columns == null) {
+            carImport.reject(row, "Quoted field is not terminated");
+            return;
+        }
+        if (columns.size() != CSV_COLUMNS) {
+            carImport.reject(row, "Expected " + CSV_COLUMNS + " columns but found "
+                    + columns.size());
+            return;
+        }
+        AddNewCarRequestDto requestDto = new AddNewCarRequestDto()
+                .setBrand(columns.get(0).strip())
+                .setModel(columns.get(1).strip())
+                .setType(columns.get(2).strip());
+        try {
+            requestDto.setInventory(Integer.valueOf(columns.get(3).strip()));
+            requestDto.setDailyFee(new BigDecimal(columns.get(4).strip()));
+        } catch (NumberFormatException e) {
+            carImport.reject(row, "inventory and dailyFee must be numbers");
+            return;
+        }
+        carImport.add(row, requestDto);
+    }
+
+    /**
+     * Splits a row into fields following RFC 4180: a field wrapped in double quotes may contain
+     * commas, and a doubled quote inside it stands for one quote. Every row must fit on one line,
+     * so line breaks inside quoted fields are not supported. Returns {@code null} when a quoted
+     * field is not terminated.
+     */
+    private static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != CSV_QUOTE) {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == CSV_QUOTE) {
+                    field.append(CSV_QUOTE);
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == CSV_QUOTE && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private class CarImport {
+        private final CarImportResultDto result = new CarImportResultDto();
+        private final Set<String> models = new HashSet<>();
+        private final Map<Long, AddNewCarRequestDto> pendingRows = new LinkedHashMap<>();
+
+        void add(long row, AddNewCarRequestDto requestDto) {
+            Set<ConstraintViolation<AddNewCarRequestDto>> violations =
+                    validator.validate(requestDto);
+            if (!violations.isEmpty()) {
+                reject(row, violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": "
+                                + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                return;
+            }
+            if (!models.add(normalize(requestDto.getModel()))) {
+                reject(row, "Car model " + requestDto.getModel()
+                        + " is duplicated in the import");
+                return;
+            }
+            pendingRows.put(row, requestDto);
+            if (pendingRows.size() == batchSize) {
+                flush();
+            }
+        }
+
+        void reject(long row, String message) {
+            result.getErrors().add(new CarImportErrorDto(row, message));
+        }
+
+        CarImportResultDto finish() {
+            flush();
+            result.getErrors().sort((first, second) ->
+                    Long.compare(first.getRow(), second.getRow()));
+            if (result.getImportedCount() > 0) {
+                eventPublisher.publishEvent(new CarsImportedEvent(result.getImportedCount()));
+            }
+            log.info("Imported {} cars, rejected {} rows", result.getImportedCount(),
+                    result.getErrors().size());
+            return result;
+        }
+
+        private void flush() {
+            if (pendingRows.isEmpty()) {
+                return;
+            }
+            Set<String> existingModels = carBatchRepository.findExistingModels(
+                    pendingRows.values().stream()
+                            .map(AddNewCarRequestDto::getModel)
+                            .toList()).stream()
+                    .map(this::normalize)
+                    .collect(Collectors.toSet());
+            List<Long> rows = new ArrayList<>();
+            List<Car> cars = new ArrayList<>();
+            pendingRows.forEach((row, requestDto) -> {
+                if (existingModels.contains(normalize(requestDto.getModel()))) {
+                    reject(row, "Car with model " + requestDto.getModel() + " already exists");
+                } else {
+                    rows.add(row);
+                    cars.add(carMapper.addNewCarRequestDtoToEntity(requestDto));
+                }
+            });
+            pendingRows.clear();
+            if (cars.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(
+                        status -> carBatchRepository.insertAll(cars));
+                result.setImportedCount(result.getImportedCount() + cars.size());
+            } catch (DataAccessException e) {
+                log.warn("Can't insert a batch of {} cars", cars.size(), e);
+                rows.forEach(row -> reject(row, "Car was not imported: "
+                        + e.getMostSpecificCause().getMessage()));
+            }
+        }
+
+        private String normalize(String model) {
+            return model.strip().toLowerCase(Locale.ROOT);
+        }
+    }
+}
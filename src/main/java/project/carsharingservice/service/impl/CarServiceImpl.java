@@ -1,44 +1,85 @@
 package project.carsharingservice.service.impl;
 
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import project.carsharingservice.dto.cache.ETaggedDto;
 import project.carsharingservice.dto.car.AddNewCarRequestDto;
+import project.carsharingservice.dto.car.CarAvailabilityDto;
 import project.carsharingservice.dto.car.CarDto;
+import project.carsharingservice.dto.car.CarSearchParametersDto;
+import project.carsharingservice.dto.car.CarSortKey;
 import project.carsharingservice.dto.car.UpdateCarInfoRequestDto;
+import project.carsharingservice.dto.page.CursorPageDto;
 import project.carsharingservice.exception.EntityNotFoundException;
 import project.carsharingservice.mapper.CarMapper;
 import project.carsharingservice.model.Car;
 import project.carsharingservice.repository.CarRepository;
+import project.carsharingservice.repository.specification.CarSpecifications;
 import project.carsharingservice.service.CarService;
+import project.carsharingservice.service.availability.CarAvailabilityIndex;
+import project.carsharingservice.service.cache.CarCatalogueCache;
+import project.carsharingservice.service.event.CarCatalogueChangedEvent;
+import project.carsharingservice.service.pagination.CursorPagination;
 
 @Service
+@Timed("service.calls")
 @RequiredArgsConstructor
 public class CarServiceImpl implements CarService {
     private final CarRepository carRepository;
     private final CarMapper carMapper;
+    private final CarCatalogueCache carCatalogueCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CarAvailabilityIndex carAvailabilityIndex;
 
     @Override
-    public List<CarDto> getAllCars(Pageable pageable) {
-        Page<Car> carPage = carRepository.findAll(pageable);
-        return carPage.stream()
+    public ETaggedDto<List<CarDto>> getAllCars(Pageable pageable) {
+        return carCatalogueCache.getPage(pageable, this::loadCarPage, this::loadCars);
+    }
+
+    @Override
+    public List<CarDto> searchCars(CarSearchParametersDto searchParameters, Pageable pageable) {
+        return carRepository.findAll(buildSpecification(searchParameters), pageable).stream()
                 .map(carMapper::entityToCarDto)
                 .toList();
     }
 
     @Override
-    public CarDto getCarById(Long carId) {
-        Car car = findCarById(carId);
-        return carMapper.entityToCarDto(car);
+    public CursorPageDto<CarDto> scrollCars(CarSortKey sortKey, String cursor, int size) {
+        List<Car> cars = sortKey == CarSortKey.DAILY_FEE
+                ? findPageOrderedByDailyFee(cursor, size)
+                : findPageOrderedById(cursor, size);
+        return CursorPagination.toPage(cars, size, carMapper::entityToCarDto,
+                car -> sortKey == CarSortKey.DAILY_FEE
+                        ? CursorPagination.encodeCursor(car.getDailyFee(), car.getId())
+                        : CursorPagination.encodeCursor(car.getId()));
+    }
+
+    @Override
+    public List<CarAvailabilityDto> getCarsAvailability() {
+        return carAvailabilityIndex.getAvailability();
+    }
+
+    @Override
+    public ETaggedDto<CarDto> getCarById(Long carId) {
+        return carCatalogueCache.getCar(carId,
+                id -> carMapper.entityToCarDto(findCarById(id)));
     }
 
     @Override
     public CarDto addNewCar(AddNewCarRequestDto requestDto) {
         Car newCar = carMapper.addNewCarRequestDtoToEntity(requestDto);
         Car savedNewCar = carRepository.save(newCar);
+        eventPublisher.publishEvent(new CarCatalogueChangedEvent(savedNewCar.getId()));
         return carMapper.entityToCarDto(savedNewCar);
     }
 
@@ -48,12 +89,71 @@ public class CarServiceImpl implements CarService {
         Car car = findCarById(carId);
         Car updatedCar = carMapper.updateCarInfo(car, requestDto);
         Car savedCar = carRepository.save(updatedCar);
+        eventPublisher.publishEvent(new CarCatalogueChangedEvent(carId));
         return carMapper.entityToCarDto(savedCar);
     }
 
     @Override
     public void deleteCarById(Long carId) {
         carRepository.deleteById(carId);
+        eventPublisher.publishEvent(new CarCatalogueChangedEvent(carId));
+    }
+
+    private List<CarDto> loadCarPage(Pageable pageable) {
+        return carRepository.findAll(pageable).stream()
+                .map(carMapper::entityToCarDto)
+                .toList();
+    }
+
+    private Specification<Car> buildSpecification(CarSearchParametersDto searchParameters) {
+        Specification<Car> specification = Specification.where(null);
+        if (searchParameters.getType() != null) {
+            specification = specification.and(CarSpecifications.hasType(
+                    Car.Type.findByValue(searchParameters.getType())));
+        }
+        if (searchParameters.getBrand() != null) {
+            specification = specification.and(
+                    CarSpecifications.hasBrand(searchParameters.getBrand()));
+        }
+        if (searchParameters.getMinDailyFee() != null) {
+            specification = specification.and(
+                    CarSpecifications.hasDailyFeeFrom(searchParameters.getMinDailyFee()));
+        }
+        if (searchParameters.getMaxDailyFee() != null) {
+            specification = specification.and(
+                    CarSpecifications.hasDailyFeeTo(searchParameters.getMaxDailyFee()));
+        }
+        if (searchParameters.getIsAvailable() != null) {
+            specification = specification.and(
+                    CarSpecifications.isAvailable(searchParameters.getIsAvailable()));
+        }
+        return specification;
+    }
+
+    private List<Car> findPageOrderedById(String cursor, int size) {
+        if (cursor == null) {
+            return carRepository.findFirstPageOrderById(CursorPagination.limit(size));
+        }
+        String[] keys = CursorPagination.decodeCursor(cursor, 1);
+        return carRepository.findPageAfterId(
+                CursorPagination.parseKey(cursor, keys[0], Long::valueOf),
+                CursorPagination.limit(size));
+    }
+
+    private List<Car> findPageOrderedByDailyFee(String cursor, int size) {
+        if (cursor == null) {
+            return carRepository.findFirstPageOrderByDailyFee(CursorPagination.limit(size));
+        }
+        String[] keys = CursorPagination.decodeCursor(cursor, 2);
+        return carRepository.findPageAfterDailyFee(
+                CursorPagination.parseKey(cursor, keys[0], BigDecimal::new),
+                CursorPagination.parseKey(cursor, keys[1], Long::valueOf),
+                CursorPagination.limit(size));
+    }
+
+    private Map<Long, CarDto> loadCars(Set<? extends Long> carIds) {
+        return carRepository.findAllById(List.copyOf(carIds)).stream()
+                .collect(Collectors.toMap(Car::getId, carMapper::entityToCarDto));
     }
 
     private Car findCarById(Long carId) {
@@ -0,0 +1,103 @@
+package project.carsharingservice.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.transaction.Transactional;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import project.carsharingservice.dto.export.ExportFormat;
+import project.carsharingservice.dto.export.PaymentExportDto;
+import project.carsharingservice.dto.export.RentalExportDto;
+import project.carsharingservice.repository.PaymentRepository;
+import project.carsharingservice.repository.RentalRepository;
+import project.carsharingservice.service.ExportService;
+
+@Service
+@RequiredArgsConstructor
+public class ExportServiceImpl implements ExportService {
+    private static final String RENTALS_CSV_HEADER =
+            "id,rentalDate,returnDate,actualReturnDate,carId,userId";
+    private static final String PAYMENTS_CSV_HEADER =
+            "id,rentalId,userId,rentalDate,paymentStatus,paymentType,sessionId,totalPrice";
+    private static final String EMPTY_VALUE = "";
+    private final RentalRepository rentalRepository;
+    private final PaymentRepository paymentRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional
+    public void exportRentals(LocalDate from, LocalDate to, ExportFormat format,
+                              OutputStream output) {
+        try (Stream<RentalExportDto> rentals = rentalRepository.streamForExport(from, to)) {
+            writeRows(rentals, format, RENTALS_CSV_HEADER, rental -> toCsvRow(
+                    rental.getId(), rental.getRentalDate(), rental.getReturnDate(),
+                    rental.getActualReturnDate(), rental.getCarId(), rental.getUserId()),
+                    output);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void exportPayments(LocalDate from, LocalDate to, ExportFormat format,
+                               OutputStream output) {
+        try (Stream<PaymentExportDto> payments = paymentRepository.streamForExport(from, to)) {
+            writeRows(payments, format, PAYMENTS_CSV_HEADER, payment -> toCsvRow(
+                    payment.getId(), payment.getRentalId(), payment.getUserId(),
+                    payment.getRentalDate(), payment.getPaymentStatus(),
+                    payment.getPaymentType(), payment.getSessionId(),
+                    payment.getTotalPrice()), output);
+        }
+    }
+
+    private <T> void writeRows(Stream<T> rows, ExportFormat format, String csvHeader,
+                               Function<T, String> csvRowMapper, OutputStream output) {
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        Function<T, String> rowMapper = format == ExportFormat.CSV
+                ? csvRowMapper
+                : this::toJsonRow;
+        try {
+            if (format == ExportFormat.CSV) {
+                writer.write(csvHeader);
+                writer.write('\n');
+            }
+            rows.forEach(row -> {
+                try {
+                    writer.write(rowMapper.apply(row));
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String toCsvRow(Object... values) {
+        return Stream.of(values)
+                .map(value -> Objects.toString(value, EMPTY_VALUE))
+                .collect(Collectors.joining(","));
+    }
+
+    private <T> String toJsonRow(T row) {
+        try {
+            return objectMapper.writeValueAsString(row);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
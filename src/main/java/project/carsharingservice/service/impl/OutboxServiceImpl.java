@@ -0,0 +1,46 @@
+package project.carsharingservice.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.transaction.Transactional;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import project.carsharingservice.exception.OutboxEventException;
+import project.carsharingservice.model.OutboxEvent;
+import project.carsharingservice.repository.OutboxEventRepository;
+import project.carsharingservice.service.OutboxService;
+
+@Service
+@RequiredArgsConstructor
+public class OutboxServiceImpl implements OutboxService {
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void publish(OutboxEvent.EventType eventType, Long aggregateId, Object payload) {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            outboxEventRepository.save(new OutboxEvent()
+                    .setEventType(eventType)
+                    .setAggregateId(aggregateId)
+                    .setPayload(objectMapper.writeValueAsString(payload))
+                    .setCreatedAt(now)
+                    .setNextAttemptAt(now));
+        } catch (JsonProcessingException e) {
+            throw new OutboxEventException("Can't serialize payload of "
+                    + eventType + " event for id " + aggregateId, e);
+        }
+    }
+
+    @Override
+    public <T> T readPayload(OutboxEvent event, Class<T> payloadType) {
+        try {
+            return objectMapper.readValue(event.getPayload(), payloadType);
+        } catch (JsonProcessingException e) {
+            throw new OutboxEventException("Can't read payload of outbox event with id "
+                    + event.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package project.carsharingservice.service.impl;
+
+import static project.carsharingservice.model.Payment.PaymentStatus.PENDING;
+import static project.carsharingservice.model.Payment.PaymentType.FINE;
+import static project.carsharingservice.model.Payment.PaymentType.PAYMENT;
+
+import io.micrometer.core.annotation.Timed;
+import java.math.BigDecimal;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import project.carsharingservice.dto.page.CursorPageDto;
+import project.carsharingservice.dto.payment.MakePaymentRequestDto;
+import project.carsharingservice.dto.payment.PaymentDto;
+import project.carsharingservice.exception.EntityNotFoundException;
+import project.carsharingservice.exception.IdempotencyKeyException;
+import project.carsharingservice.exception.PaidPaymentException;
+import project.carsharingservice.exception.RentalReturnException;
+import project.carsharingservice.exception.UnauthorizedAccessException;
+import project.carsharingservice.mapper.PaymentMapper;
+import project.carsharingservice.model.Payment;
+import project.carsharingservice.model.Rental;
+import project.carsharingservice.model.Role;
+import project.carsharingservice.model.User;
+import project.carsharingservice.repository.PaymentRepository;
+import project.carsharingservice.repository.RentalRepository;
+import project.carsharingservice.service.PaymentService;
+import project.carsharingservice.service.pagination.CursorPagination;
+import project.carsharingservice.service.payment.CheckoutSession;
+import project.carsharingservice.service.payment.CheckoutSessionRequest;
+import project.carsharingservice.service.payment.RentalPriceCalculator;
+import project.carsharingservice.service.payment.ResilientPaymentGateway;
+
+@Service
+@Timed("service.calls")
+@Log4j2
+@RequiredArgsConstructor
+public class PaymentServiceImpl implements PaymentService {
+    private static final String LOCAL_DOMAIN = "http://localhost:8080";
+    private static final String SUCCESSFUL_PAYMENT_PATH = "/payments/success/";
+    private static final String CANCELED_PAYMENT_PATH = "/payments/cancel/";
+    private static final String CHECKOUT_SESSION_ID = "{CHECKOUT_SESSION_ID}";
+    private static final int SESSION_EXPIRATION_HOURS = 24;
+    private static final int SESSION_REUSE_MARGIN_MINUTES = 10;
+    private static final String GATEWAY_KEY_ALGORITHM = "SHA-256";
+    private final RentalRepository rentalRepository;
+    private final PaymentRepository paymentRepository;
+    private final PaymentMapper paymentMapper;
+    private final ResilientPaymentGateway resilientPaymentGateway;
+    private final TransactionTemplate transactionTemplate;
+    private final ConcurrentMap<Long, CompletableFuture<PaymentDto>> sessionsInFlight =
+            new ConcurrentHashMap<>();
+
+    @Override
+    public PaymentDto createPaymentSession(MakePaymentRequestDto requestDto,
+                                           User user,
+                                           String idempotencyKey) {
+        PaymentAttempt attempt = transactionTemplate.execute(
+                status -> preparePayment(requestDto, user, idempotencyKey));
+        if (attempt.existingPayment() != null) {
+            return attempt.existingPayment();
+        }
+
+        CompletableFuture<PaymentDto> newSession = new CompletableFuture<>();
+        CompletableFuture<PaymentDto> sessionInFlight =
+                sessionsInFlight.putIfAbsent(attempt.rentalId(), newSession);
+        if (sessionInFlight != null) {
+            return awaitSession(sessionInFlight);
+        }
+        try {
+            CheckoutSession session = resilientPaymentGateway
+                    .createSession(attempt.sessionRequest());
+            PaymentDto paymentDto = savePayment(attempt, session, idempotencyKey);
+            newSession.complete(paymentDto);
+            return paymentDto;
+        } catch (RuntimeException e) {
+            newSession.completeExceptionally(e);
+            throw e;
+        } finally {
+            sessionsInFlight.remove(attempt.rentalId(), newSession);
+        }
+    }
+
+    @Override
+    public List<PaymentDto> getAllPaymentsByUserId(long userId, User user) {
+        checkAccessToPayments(userId, user);
+
+        List<Payment> payments = paymentRepository.findAllByUserId(userId);
+        return payments.stream()
+                .map(paymentMapper::entityToPaymentDto)
+                .toList();
+    }
+
+    @Override
+    public CursorPageDto<PaymentDto> scrollPaymentsByUserId(long userId,
+                                                            User user,
+                                                            String cursor,
+                                                            int size) {
+        checkAccessToPayments(userId, user);
+
+        List<Payment> payments;
+        if (cursor == null) {
+            payments = paymentRepository.findFirstPageByUserId(userId,
+                    CursorPagination.limit(size));
+        } else {
+            String[] keys = CursorPagination.decodeCursor(cursor, 1);
+            payments = paymentRepository.findPageByUserIdAfter(userId,
+                    CursorPagination.parseKey(cursor, keys[0], Long::valueOf),
+                    CursorPagination.limit(size));
+        }
+        return CursorPagination.toPage(payments, size, paymentMapper::entityToPaymentDto,
+                payment -> CursorPagination.encodeCursor(payment.getId()));
+    }
+
+    private PaymentAttempt preparePayment(MakePaymentRequestDto requestDto,
+                                          User user,
+                                          String idempotencyKey) {
+        if (idempotencyKey != null) {
+            Optional<Payment> replayedPayment = paymentRepository
+                    .findByIdempotencyKey(idempotencyKey);
+            if (replayedPayment.isPresent()) {
+                checkIfSameRequest(replayedPayment.get(), requestDto, user, idempotencyKey);
+                return PaymentAttempt.reuse(
+                        paymentMapper.entityToPaymentDto(replayedPayment.get()));
+            }
+        }
+        Rental rental = getRentalById(requestDto.getRentalId());
+        checkIfRentalIsPaid(rental);
+        checkIfUserIsRentalOwner(rental, user);
+
+        Optional<Payment> pendingPayment = findPendingPayment(rental);
+        if (pendingPayment.isPresent()) {
+            return PaymentAttempt.reuse(paymentMapper.entityToPaymentDto(pendingPayment.get()));
+        }
+
+        BigDecimal totalPrice = calculateTotalPrice(rental);
+        // truncated, so a retry of the same key sends Stripe the same parameters
+        LocalDateTime expiresAt = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS)
+                .plusHours(SESSION_EXPIRATION_HOURS);
+        Payment.PaymentType paymentType = RentalPriceCalculator.isRentalReturnedLate(rental)
+                ? FINE : PAYMENT;
+        return new PaymentAttempt(null, rental.getId(), paymentType, totalPrice, expiresAt,
+                createSessionRequest(totalPrice, rental, expiresAt, idempotencyKey));
+    }
+
+    private PaymentDto savePayment(PaymentAttempt attempt,
+                                   CheckoutSession session,
+                                   String idempotencyKey) {
+        try {
+            return transactionTemplate.execute(status -> {
+                Rental rental = getRentalByIdForUpdate(attempt.rentalId());
+                checkIfRentalIsPaid(rental);
+                Optional<Payment> pendingPayment = findPendingPayment(rental);
+                if (pendingPayment.isPresent()) {
+                    log.info("Checkout session {} is not used, rental with id {} already has "
+                            + "pending payment {}", session.id(), rental.getId(),
+                            pendingPayment.get().getId());
+                    return paymentMapper.entityToPaymentDto(pendingPayment.get());
+                }
+                Payment newPayment = paymentRepository.save(
+                        createPayment(rental, attempt, session, idempotencyKey));
+                return paymentMapper.entityToPaymentDto(newPayment);
+            });
+        } catch (DataIntegrityViolationException e) {
+            if (idempotencyKey == null) {
+                throw e;
+            }
+            return transactionTemplate.execute(status -> paymentRepository
+                    .findByIdempotencyKey(idempotencyKey)
+                    .map(paymentMapper::entityToPaymentDto)
+                    .orElseThrow(() -> e));
+        }
+    }
+
+    private PaymentDto awaitSession(CompletableFuture<PaymentDto> sessionInFlight) {
+        try {
+            return sessionInFlight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Optional<Payment> findPendingPayment(Rental rental) {
+        return paymentRepository.findPendingPaymentByRentalId(rental.getId(),
+                LocalDateTime.now().plusMinutes(SESSION_REUSE_MARGIN_MINUTES));
+    }
+
+    private void checkIfSameRequest(Payment payment,
+                                    MakePaymentRequestDto requestDto,
+                                    User user,
+                                    String idempotencyKey) {
+        Rental rental = payment.getRental();
+        if (!Objects.equals(rental.getId(), requestDto.getRentalId())
+                || !Objects.equals(rental.getUser().getId(), user.getId())) {
+            throw new IdempotencyKeyException("Idempotency key " + idempotencyKey
+                    + " was already used for another payment request");
+        }
+    }
+
+    private Rental getRentalById(long rentalId) {
+        return rentalRepository.findById(rentalId).orElseThrow(
+                () -> new EntityNotFoundException("Rental with id " + rentalId + " was not found")
+        );
+    }
+
+    private Rental getRentalByIdForUpdate(long rentalId) {
+        return rentalRepository.findByIdForUpdate(rentalId).orElseThrow(
+                () -> new EntityNotFoundException("Rental with id " + rentalId + " was not found")
+        );
+    }
+
+    private void checkIfRentalIsPaid(Rental rental) {
+        Optional<Payment> paymentOptional = paymentRepository
+                .findSuccessfulPaymentByRentalId(rental.getId());
+        if (paymentOptional.isPresent()) {
+            throw new PaidPaymentException("Payment for rental with id " + rental.getId()
+                    + " was already done");
+        }
+    }
+
+    private void checkIfUserIsRentalOwner(Rental rental, User user) {
+        if (!Objects.equals(rental.getUser().getId(), user.getId())) {
+            throw new EntityNotFoundException("User with id " + user.getId()
+                    + " does not have rental with id " + rental.getId());
+        }
+    }
+
+    private BigDecimal calculateTotalPrice(Rental rental) {
+        checkIfRentalClosed(rental);
+        return RentalPriceCalculator.calculateTotalPrice(rental);
+    }
+
+    private void checkIfRentalClosed(Rental rental) {
+        if (rental.getActualReturnDate() == null) {
+            throw new RentalReturnException("Before payment for rental with id "
+                    + rental.getId() + " you must return the car");
+        }
+    }
+
+    private CheckoutSessionRequest createSessionRequest(BigDecimal totalPrice,
+                                                        Rental rental,
+                                                        LocalDateTime expiresAt,
+                                                        String idempotencyKey) {
+        return new CheckoutSessionRequest(
+                "Payment for rental " + rental.getId(),
+                totalPrice,
+                LOCAL_DOMAIN + SUCCESSFUL_PAYMENT_PATH + CHECKOUT_SESSION_ID,
+                LOCAL_DOMAIN + CANCELED_PAYMENT_PATH + CHECKOUT_SESSION_ID,
+                expiresAt.atZone(ZoneId.systemDefault()).toInstant(),
+                getGatewayIdempotencyKey(idempotencyKey, rental, totalPrice, expiresAt));
+    }
+
+    private String getGatewayIdempotencyKey(String idempotencyKey,
+                                            Rental rental,
+                                            BigDecimal totalPrice,
+                                            LocalDateTime expiresAt) {
+        if (idempotencyKey == null) {
+            return null;
+        }
+        String parameters = String.join("|", idempotencyKey, rental.getId().toString(),
+                totalPrice.toPlainString(), expiresAt.toString());
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance(GATEWAY_KEY_ALGORITHM)
+                    .digest(parameters.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Can't create gateway idempotency key", e);
+        }
+    }
+
+    private Payment createPayment(Rental rental,
+                                  PaymentAttempt attempt,
+                                  CheckoutSession session,
+                                  String idempotencyKey) {
+        Payment payment = new Payment();
+        payment.setRental(rental);
+        payment.setPaymentStatus(PENDING);
+        payment.setPaymentType(attempt.paymentType());
+        payment.setSessionId(session.id());
+        payment.setTotalPrice(attempt.totalPrice());
+        payment.setExpiresAt(attempt.expiresAt());
+        payment.setIdempotencyKey(idempotencyKey);
+        try {
+            payment.setSessionUrl(new URL(session.url()));
+        } catch (MalformedURLException e) {
+            throw new RuntimeException("Your string " + session.url()
+                    + " can not be parsed to URL", e);
+        }
+        return payment;
+    }
+
+    private void checkAccessToPayments(long userId, User user) {
+        if (user == null
+                || user.getRoles().stream().noneMatch(
+                        role -> Role.RoleName.ROLE_MANAGER.equals(role.getRoleName()))
+                && userId != user.getId()
+        ) {
+            throw new UnauthorizedAccessException("You do not have access to specified payment(s)");
+        }
+    }
+
+    private record PaymentAttempt(PaymentDto existingPayment,
+                                  Long rentalId,
+                                  Payment.PaymentType paymentType,
+                                  BigDecimal totalPrice,
+                                  LocalDateTime expiresAt,
+                                  CheckoutSessionRequest sessionRequest) {
+        static PaymentAttempt reuse(PaymentDto existingPayment) {
+            return new PaymentAttempt(existingPayment, null, null, null, null, null);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package project.carsharingservice.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stripe.exception.SignatureVerificationException;
+import com.stripe.net.Webhook;
+import java.time.Duration;
+import java.util.Set;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import project.carsharingservice.exception.PaymentWebhookException;
+import project.carsharingservice.service.PaymentWebhookService;
+import project.carsharingservice.service.payment.PaymentWebhookBatcher;
+import project.carsharingservice.service.payment.PaymentWebhookEvent;
+
+@Service
+@Log4j2
+public class PaymentWebhookServiceImpl implements PaymentWebhookService {
+    private static final Set<String> PAID_SESSION_EVENT_TYPES = Set.of(
+            "checkout.session.completed", "checkout.session.async_payment_succeeded");
+    private static final String PAID_STATUS = "paid";
+    private final PaymentWebhookBatcher paymentWebhookBatcher;
+    private final ObjectMapper objectMapper;
+    private final String webhookSecret;
+    private final Duration signatureTolerance;
+
+    public PaymentWebhookServiceImpl(
+            PaymentWebhookBatcher paymentWebhookBatcher,
+            ObjectMapper objectMapper,
+            @Value("${stripe.webhook.secret}") String webhookSecret,
+            @Value("${payment.webhook.signature-tolerance}") Duration signatureTolerance) {
+        this.paymentWebhookBatcher = paymentWebhookBatcher;
+        this.objectMapper = objectMapper;
+        this.webhookSecret = webhookSecret;
+        this.signatureTolerance = signatureTolerance;
+    }
+
+    @Override
+    public void handleEvent(String payload, String signature) {
+        try {
+            Webhook.Signature.verifyHeader(payload, signature, webhookSecret,
+                    signatureTolerance.toSeconds());
+        } catch (SignatureVerificationException e) {
+            throw new PaymentWebhookException("Webhook signature is not valid", e);
+        }
+        JsonNode event;
+        try {
+            event = objectMapper.readTree(payload);
+        } catch (JsonProcessingException e) {
+            throw new PaymentWebhookException("Can't read webhook event", e);
+        }
+        String eventType = event.path("type").asText();
+        JsonNode session = event.path("data").path("object");
+        if (!PAID_SESSION_EVENT_TYPES.contains(eventType)
+                || !PAID_STATUS.equals(session.path("payment_status").asText())) {
+            log.debug("Webhook event {} of type {} is ignored", event.path("id").asText(),
+                    eventType);
+            return;
+        }
+        String eventId = event.path("id").asText();
+        String sessionId = session.path("id").asText();
+        if (eventId.isEmpty() || sessionId.isEmpty()) {
+            throw new PaymentWebhookException("Webhook event of type " + eventType
+                    + " has no event or session id");
+        }
+        paymentWebhookBatcher.submit(new PaymentWebhookEvent(eventId, sessionId));
+    }
+}
@@ -1,58 +1,82 @@
 package project.carsharingservice.service.impl;
 
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import java.time.LocalDate;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import project.carsharingservice.dto.outbox.RentalEventPayload;
+import project.carsharingservice.dto.page.CursorPageDto;
 import project.carsharingservice.dto.rental.CreateRentalRequestDto;
 import project.carsharingservice.dto.rental.RentalDto;
 import project.carsharingservice.dto.rental.RentalDtoWithoutCarInfo;
 import project.carsharingservice.exception.ClosedRentalException;
 import project.carsharingservice.exception.EntityNotFoundException;
 import project.carsharingservice.exception.UnauthorizedAccessException;
+import project.carsharingservice.mapper.CarMapper;
 import project.carsharingservice.mapper.RentalMapper;
 import project.carsharingservice.model.Car;
+import project.carsharingservice.model.OutboxEvent;
 import project.carsharingservice.model.Rental;
 import project.carsharingservice.model.Role;
 import project.carsharingservice.model.User;
 import project.carsharingservice.repository.CarRepository;
 import project.carsharingservice.repository.RentalRepository;
+import project.carsharingservice.repository.specification.RentalSpecifications;
+import project.carsharingservice.service.OutboxService;
 import project.carsharingservice.service.RentalService;
-import project.carsharingservice.service.notification.bot.NotificationService;
+import project.carsharingservice.service.event.CarInventoryChangedEvent;
+import project.carsharingservice.service.pagination.CursorPagination;
 
 @Service
+@Timed("service.calls")
 @RequiredArgsConstructor
 public class RentalServiceImpl implements RentalService {
-    private final NotificationService notificationService;
+    private final OutboxService outboxService;
     private final RentalRepository rentalRepository;
     private final CarRepository carRepository;
     private final RentalMapper rentalMapper;
+    private final CarMapper carMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public List<RentalDtoWithoutCarInfo> getRentalsByUserId(Long userId,
                                                             Boolean isRentalActive,
-                                                            User user) {
-        if (userId == null || userId == 0) {
-            return rentalRepository.findAll().stream()
-                    .filter(rental -> checkAccessToRental(user, rental))
-                    .filter(rental -> isRentalActive == null
-                            || (isRentalActive && rental.getActualReturnDate() == null)
-                            || (!isRentalActive && rental.getActualReturnDate() != null)
-                    )
-                    .map(rentalMapper::entityRentalDtoWithoutCarInfo)
-                    .toList();
-        } else {
-            List<Rental> rentalList = rentalRepository.findAllByUserId(userId);
-            checkAccessToRentals(user, rentalList);
-
-            return rentalList.stream()
-                    .filter(rental -> isRentalActive == null
-                            || (isRentalActive && rental.getActualReturnDate() == null)
-                            || (!isRentalActive && rental.getActualReturnDate() != null))
-                    .map(rentalMapper::entityRentalDtoWithoutCarInfo)
-                    .toList();
+                                                            User user,
+                                                            Pageable pageable) {
+        Specification<Rental> specification = buildSpecification(
+                getVisibleUserId(userId, user), isRentalActive);
+
+        return rentalRepository.findAll(specification, pageable).stream()
+                .map(rentalMapper::entityRentalDtoWithoutCarInfo)
+                .toList();
+    }
+
+    @Override
+    public CursorPageDto<RentalDtoWithoutCarInfo> scrollRentalsByUserId(Long userId,
+                                                                        Boolean isRentalActive,
+                                                                        User user,
+                                                                        String cursor,
+                                                                        int size) {
+        Specification<Rental> specification = buildSpecification(
+                getVisibleUserId(userId, user), isRentalActive);
+        if (cursor != null) {
+            String[] keys = CursorPagination.decodeCursor(cursor, 1);
+            specification = specification.and(RentalSpecifications.hasIdGreaterThan(
+                    CursorPagination.parseKey(cursor, keys[0], Long::valueOf)));
         }
+
+        int limit = CursorPagination.limit(size).getPageSize();
+        List<Rental> rentals = rentalRepository.findBy(specification,
+                query -> query.sortBy(Sort.by(Sort.Direction.ASC, "id")).limit(limit).all());
+        return CursorPagination.toPage(rentals, size,
+                rentalMapper::entityRentalDtoWithoutCarInfo,
+                rental -> CursorPagination.encodeCursor(rental.getId()));
     }
 
     @Override
@@ -77,7 +101,7 @@ public class RentalServiceImpl implements RentalService {
         setUpCarForNewRental(newRental, requestDto.getCarId());
 
         Rental savedNewRental = rentalRepository.save(newRental);
-        notificationService.sendNewRentalNotification(savedNewRental);
+        publishRentalEvent(OutboxEvent.EventType.RENTAL_CREATED, savedNewRental);
         return rentalMapper.entityToRentalDto(savedNewRental);
     }
 
@@ -91,18 +115,41 @@ public class RentalServiceImpl implements RentalService {
         increaseCarQuantity(rental);
 
         Rental updatedRental = rentalRepository.save(rental);
+        publishRentalEvent(OutboxEvent.EventType.RENTAL_RETURNED, updatedRental);
         return rentalMapper.entityToRentalDto(updatedRental);
     }
 
-    private boolean checkAccessToRental(User user, Rental rental) {
+    private Specification<Rental> buildSpecification(Long visibleUserId,
+                                                     Boolean isRentalActive) {
+        Specification<Rental> specification = Specification.where(null);
+        if (visibleUserId != null) {
+            specification = specification.and(RentalSpecifications.hasUserId(visibleUserId));
+        }
+        if (isRentalActive != null) {
+            specification = specification.and(RentalSpecifications.isActive(isRentalActive));
+        }
+        return specification;
+    }
+
+    private Long getVisibleUserId(Long userId, User user) {
+        boolean isManager = isManager(user);
+        if (userId == null || userId == 0) {
+            return isManager ? null : user.getId();
+        }
+        if (!isManager && !userId.equals(user.getId())) {
+            throw new UnauthorizedAccessException(
+                    "You do not have access to specified rental(s)");
+        }
+        return userId;
+    }
+
+    private boolean isManager(User user) {
         return user.getRoles().stream()
-                .anyMatch(role -> role.getRoleName() == Role.RoleName.ROLE_MANAGER)
-                || rental.getUser().getId().equals(user.getId());
+                .anyMatch(role -> role.getRoleName() == Role.RoleName.ROLE_MANAGER);
     }
 
     private void checkAccessToRentals(User user, List<Rental> rentals) {
-        if (user.getRoles().stream()
-                .noneMatch(role -> role.getRoleName() == Role.RoleName.ROLE_MANAGER)) {
+        if (!isManager(user)) {
             List<Long> userRentalIds = rentals.stream()
                     .map(rental -> rental.getUser().getId())
                     .toList();
@@ -129,27 +176,35 @@ public class RentalServiceImpl implements RentalService {
     }
 
     private void setUpCarForNewRental(Rental newRental, Long carId) {
-        Car car = carRepository.findById(carId).orElseThrow(
-                () -> new EntityNotFoundException("Car with id " + carId + " was not found")
-        );
-
-        if (car.getInventory() <= 0) {
+        if (carRepository.decreaseInventory(carId) == 0) {
+            findCarById(carId);
             throw new EntityNotFoundException("Sorry, this car with id "
                     + carId + " is not available now");
-        } else {
-            car.setInventory(car.getInventory() - 1);
         }
+        eventPublisher.publishEvent(new CarInventoryChangedEvent(carId, -1));
+        newRental.setCar(findCarById(carId));
+    }
 
-        newRental.setCar(car);
-        carRepository.save(car);
+    private Car findCarById(Long carId) {
+        return carRepository.findById(carId).orElseThrow(
+                () -> new EntityNotFoundException("Car with id " + carId + " was not found")
+        );
     }
 
     private void increaseCarQuantity(Rental rental) {
-        Car car = carRepository.findById(rental.getCar().getId()).orElseThrow(
-                () -> new EntityNotFoundException("Something went wrong! "
-                        + "Car with id " + rental.getCar().getId() + " was not found!")
-        );
-        car.setInventory(car.getInventory() + 1);
-        carRepository.save(car);
+        Long carId = rental.getCar().getId();
+        if (carRepository.increaseInventory(carId) == 0) {
+            throw new EntityNotFoundException("Something went wrong! "
+                    + "Car with id " + carId + " was not found!");
+        }
+        eventPublisher.publishEvent(new CarInventoryChangedEvent(carId, 1));
+        rental.setCar(findCarById(carId));
+    }
+
+    private void publishRentalEvent(OutboxEvent.EventType eventType, Rental rental) {
+        outboxService.publish(eventType, rental.getId(), new RentalEventPayload()
+                .setRentalId(rental.getId())
+                .setUserId(rental.getUser().getId())
+                .setCar(carMapper.entityToCarDto(rental.getCar())));
     }
 }
@@ -1,6 +1,8 @@
 package project.carsharingservice.service.impl;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,15 +18,20 @@ import project.carsharingservice.model.Role;
 import project.carsharingservice.model.User;
 import project.carsharingservice.repository.RoleRepository;
 import project.carsharingservice.repository.UserRepository;
+import project.carsharingservice.security.UserPrincipalCache;
 import project.carsharingservice.service.UserService;
+import project.carsharingservice.service.event.UserPrincipalChangedEvent;
 
 @Service
+@Timed("service.calls")
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final UserPrincipalCache userPrincipalCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public UserRegistrationResponseDto register(UserRegistrationRequestDto requestDto)
@@ -58,6 +65,7 @@ public class UserServiceImpl implements UserService {
         User user = findUserByEmail(email);
         User updatedUser = userMapper.updateUserInfo(user, requestDto);
         User savedUpdatedUser = userRepository.save(updatedUser);
+        eventPublisher.publishEvent(new UserPrincipalChangedEvent(email));
         return userMapper.entityToUserInfoResponseDto(savedUpdatedUser);
     }
 
@@ -77,12 +85,14 @@ public class UserServiceImpl implements UserService {
         user.getRoles().clear();
         user.getRoles().add(role);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserPrincipalChangedEvent(user.getEmail()));
     }
 
     @Override
     public void deleteUserById(Long userId) {
         checkManagerId(userId);
         userRepository.deleteById(userId);
+        userPrincipalCache.evictByUserId(userId);
     }
 
     private User findUserByEmail(String email) {
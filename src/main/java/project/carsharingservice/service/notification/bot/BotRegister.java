@@ -2,6 +2,7 @@ package project.carsharingservice.service.notification.bot;
 
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 import org.telegram.telegrambots.meta.TelegramBotsApi;
 import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
@@ -9,12 +10,14 @@ import org.telegram.telegrambots.updatesreceivers.DefaultBotSession;
 
 @Component
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "notification.sender", havingValue = "telegram",
+        matchIfMissing = true)
 public class BotRegister {
-    private final TelegramNotificationService telegramNotificationService;
+    private final TelegramBot telegramBot;
 
     @PostConstruct
     public void init() throws TelegramApiException {
         TelegramBotsApi telegramBotsApi = new TelegramBotsApi(DefaultBotSession.class);
-        telegramBotsApi.registerBot(telegramNotificationService);
+        telegramBotsApi.registerBot(telegramBot);
     }
 }
@@ -0,0 +1,204 @@
+package project.carsharingservice.service.notification.bot;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import project.carsharingservice.exception.TelegramNotificationException;
+
+@Component
+@Log4j2
+public class NotificationDispatcher {
+    public static final int MAX_MESSAGE_LENGTH = 4096;
+    private static final String MESSAGE_SEPARATOR = "\n\n";
+    private final NotificationSender notificationSender;
+    private final BlockingQueue<String> queue;
+    private final Duration offerTimeout;
+    private final int maxBatchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Timer sendTimer;
+    private final Counter droppedCounter;
+    private final Counter failedCounter;
+    private volatile boolean running;
+    private Thread worker;
+
+    public NotificationDispatcher(
+            NotificationSender notificationSender,
+            MeterRegistry meterRegistry,
+            @Value("${notification.dispatcher.queue-capacity}") int queueCapacity,
+            @Value("${notification.dispatcher.offer-timeout}") Duration offerTimeout,
+            @Value("${notification.dispatcher.max-batch-size}") int maxBatchSize,
+            @Value("${notification.dispatcher.max-attempts}") int maxAttempts,
+            @Value("${notification.dispatcher.initial-backoff}") Duration initialBackoff) {
+        this.notificationSender = notificationSender;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.offerTimeout = offerTimeout;
+        this.maxBatchSize = maxBatchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.sendTimer = Timer.builder("notifications.send.latency")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.droppedCounter = meterRegistry.counter("notifications.dropped");
+        this.failedCounter = meterRegistry.counter("notifications.failed");
+        meterRegistry.gauge("notifications.queue.depth", queue, BlockingQueue::size);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = new Thread(this::processQueue, "notification-dispatcher");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    public void dispatch(String message) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            enqueue(message);
+                        }
+                    });
+        } else {
+            enqueue(message);
+        }
+    }
+
+    public void deliver(List<String> messages) {
+        deliver(messages, Function.identity());
+    }
+
+    public <T> List<T> deliver(List<T> items, Function<T, String> messageMapper) {
+        List<T> undelivered = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        List<T> currentItems = new ArrayList<>();
+        for (T item : items) {
+            String message = messageMapper.apply(item);
+            for (int from = 0; from < message.length(); from += MAX_MESSAGE_LENGTH) {
+                String part = message.substring(from,
+                        Math.min(message.length(), from + MAX_MESSAGE_LENGTH));
+                if (!current.isEmpty() && current.length() + MESSAGE_SEPARATOR.length()
+                        + part.length() > MAX_MESSAGE_LENGTH) {
+                    send(current, currentItems, undelivered);
+                }
+                if (!current.isEmpty()) {
+                    current.append(MESSAGE_SEPARATOR);
+                }
+                current.append(part);
+                if (currentItems.isEmpty() || currentItems.get(currentItems.size() - 1) != item) {
+                    currentItems.add(item);
+                }
+            }
+        }
+        if (!current.isEmpty()) {
+            send(current, currentItems, undelivered);
+        }
+        return undelivered;
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    private void enqueue(String message) {
+        try {
+            if (!queue.offer(message, offerTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                droppedCounter.increment();
+                log.warn("Notification queue is full, message was dropped: {}", message);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            droppedCounter.increment();
+        }
+    }
+
+    private void processQueue() {
+        List<String> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                String first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - 1);
+                deliver(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private <T> void send(StringBuilder message, List<T> items, List<T> undelivered) {
+        try {
+            sendWithRetry(message.toString());
+        } catch (TelegramNotificationException e) {
+            log.error(e.getMessage(), e);
+            items.stream()
+                    .filter(item -> undelivered.isEmpty()
+                            || undelivered.get(undelivered.size() - 1) != item)
+                    .forEach(undelivered::add);
+        } finally {
+            message.setLength(0);
+            items.clear();
+        }
+    }
+
+    private void sendWithRetry(String message) {
+        long backoffMillis = initialBackoff.toMillis();
+        RuntimeException lastException = null;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                sendTimer.record(() -> notificationSender.send(message));
+                return;
+            } catch (RuntimeException e) {
+                lastException = e;
+                log.warn("Notification attempt {} of {} failed", attempt, maxAttempts, e);
+                if (attempt < maxAttempts && !sleep(backoffMillis)) {
+                    break;
+                }
+                backoffMillis *= 2;
+            }
+        }
+        failedCounter.increment();
+        throw new TelegramNotificationException("Notification was not sent after "
+                + maxAttempts + " attempts: " + message, lastException);
+    }
+
+    private boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package project.carsharingservice.service.notification.bot;
+
+import java.util.function.Consumer;
+
+class NotificationMessageBuilder {
+    private final Consumer<String> messageConsumer;
+    private final StringBuilder message = new StringBuilder();
+
+    NotificationMessageBuilder(Consumer<String> messageConsumer) {
+        this.messageConsumer = messageConsumer;
+    }
+
+    NotificationMessageBuilder appendLine(String line) {
+        int newLength = message.length() + 1 + line.length();
+        if (!message.isEmpty() && newLength > NotificationDispatcher.MAX_MESSAGE_LENGTH) {
+            flush();
+        }
+        if (!message.isEmpty()) {
+            message.append('\n');
+        }
+        message.append(line);
+        return this;
+    }
+
+    void flush() {
+        if (!message.isEmpty()) {
+            messageConsumer.accept(message.toString());
+            message.setLength(0);
+        }
+    }
+}
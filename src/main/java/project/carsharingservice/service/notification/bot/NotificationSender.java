@@ -0,0 +1,5 @@
+package project.carsharingservice.service.notification.bot;
+
+public interface NotificationSender {
+    void send(String message);
+}
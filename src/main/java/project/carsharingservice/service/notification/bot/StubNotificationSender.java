@@ -0,0 +1,28 @@
+package project.carsharingservice.service.notification.bot;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@Log4j2
+@ConditionalOnProperty(name = "notification.sender", havingValue = "stub")
+public class StubNotificationSender implements NotificationSender {
+    private final List<String> sentMessages = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void send(String message) {
+        log.debug("Stub notification: {}", message);
+        sentMessages.add(message);
+    }
+
+    public List<String> getSentMessages() {
+        return List.copyOf(sentMessages);
+    }
+
+    public void clear() {
+        sentMessages.clear();
+    }
+}
@@ -0,0 +1,50 @@
+package project.carsharingservice.service.notification.bot;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.telegram.telegrambots.bots.TelegramLongPollingBot;
+import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
+import org.telegram.telegrambots.meta.api.objects.Update;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
+import project.carsharingservice.exception.TelegramNotificationException;
+
+@Component
+@ConditionalOnProperty(name = "notification.sender", havingValue = "telegram",
+        matchIfMissing = true)
+public class TelegramBot extends TelegramLongPollingBot implements NotificationSender {
+    private static final long CHAT_ID = -1002073613272L;
+
+    public TelegramBot(@Value("${BOT_TOKEN}") String botToken) {
+        super(botToken);
+    }
+
+    @Override
+    public void onUpdateReceived(Update update) {
+        SendMessage sendMessage = new SendMessage();
+        sendMessage.setText("You can only read info. Please wait for updates.");
+        sendMessage.setChatId(CHAT_ID);
+        try {
+            execute(sendMessage);
+        } catch (TelegramApiException e) {
+            throw new TelegramNotificationException("Ooops... Default message was not sent", e);
+        }
+    }
+
+    @Override
+    public String getBotUsername() {
+        return "car-sharing-service_admin_bot";
+    }
+
+    @Override
+    public void send(String message) {
+        SendMessage sendMessage = new SendMessage();
+        sendMessage.setText(message);
+        sendMessage.setChatId(CHAT_ID);
+        try {
+            execute(sendMessage);
+        } catch (TelegramApiException e) {
+            throw new TelegramNotificationException("Your notification was not sent", e);
+        }
+    }
+}
@@ -1,102 +1,127 @@
 package project.carsharingservice.service.notification.bot;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
 import lombok.extern.log4j.Log4j2;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.telegram.telegrambots.bots.TelegramLongPollingBot;
-import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
-import org.telegram.telegrambots.meta.api.objects.Update;
-import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
-import project.carsharingservice.dto.rental.RentalDtoWithoutCarInfo;
-import project.carsharingservice.exception.TelegramNotificationException;
-import project.carsharingservice.mapper.CarMapper;
-import project.carsharingservice.mapper.RentalMapper;
-import project.carsharingservice.model.Rental;
+import project.carsharingservice.dto.outbox.PaymentEventPayload;
+import project.carsharingservice.dto.outbox.RentalEventPayload;
+import project.carsharingservice.dto.rental.OverdueRentalDto;
+import project.carsharingservice.exception.OutboxEventException;
+import project.carsharingservice.model.OutboxEvent;
 import project.carsharingservice.repository.RentalRepository;
+import project.carsharingservice.service.OutboxService;
+import project.carsharingservice.service.outbox.OutboxEventHandler;
 
 @Service
 @Log4j2
-public class TelegramNotificationService
-        extends TelegramLongPollingBot
-        implements NotificationService {
-    private static final long CHAT_ID = -1002073613272L;
+public class TelegramNotificationService implements NotificationService, OutboxEventHandler {
+    private final NotificationDispatcher notificationDispatcher;
+    private final OutboxService outboxService;
     private final RentalRepository rentalRepository;
-    private final RentalMapper rentalMapper;
-    private final CarMapper carMapper;
+    private final int overdueReportChunkSize;
 
-    @Autowired
-    public TelegramNotificationService(@Value("${BOT_TOKEN}") String botToken,
-                                       RentalRepository rentalRepository,
-                                       RentalMapper rentalMapper,
-                                       CarMapper carMapper) {
-        super(botToken);
+    public TelegramNotificationService(
+            NotificationDispatcher notificationDispatcher,
+            OutboxService outboxService,
+            RentalRepository rentalRepository,
+            @Value("${notification.overdue-report.chunk-size}") int overdueReportChunkSize) {
+        this.notificationDispatcher = notificationDispatcher;
+        this.outboxService = outboxService;
         this.rentalRepository = rentalRepository;
-        this.rentalMapper = rentalMapper;
-        this.carMapper = carMapper;
+        this.overdueReportChunkSize = overdueReportChunkSize;
     }
 
     @Override
-    public void onUpdateReceived(Update update) {
-        SendMessage sendMessage = new SendMessage();
-        sendMessage.setText("You can only read info. Please wait for updates.");
-        sendMessage.setChatId(CHAT_ID);
-        try {
-            execute(sendMessage);
-        } catch (TelegramApiException e) {
-            throw new TelegramNotificationException("Ooops... Default message was not sent", e);
+    public List<OutboxEvent> handle(List<OutboxEvent> events) {
+        List<OutboxEvent> unhandled = new ArrayList<>();
+        Map<OutboxEvent, String> messages = new LinkedHashMap<>();
+        for (OutboxEvent event : events) {
+            try {
+                messages.put(event, createMessage(event));
+            } catch (OutboxEventException e) {
+                log.error(e.getMessage(), e);
+                unhandled.add(event);
+            }
         }
-    }
-
-    @Override
-    public String getBotUsername() {
-        return "car-sharing-service_admin_bot";
-    }
-
-    @Override
-    public void sendNewRentalNotification(Rental rental) {
-        SendMessage sendMessage = new SendMessage();
-        sendMessage.setText("New rental " + rental.getId()
-                + " was created by user with id " + rental.getUser().getId()
-                + ". Rented car is " + carMapper.entityToCarDto(rental.getCar()));
-        sendMessage.setChatId(CHAT_ID);
-        sendCreatedMessage(sendMessage);
+        unhandled.addAll(notificationDispatcher.deliver(
+                List.copyOf(messages.keySet()), messages::get));
+        return unhandled;
     }
 
     @Override
     @Scheduled(cron = "0 0 9 * * *")
     public void sendOverdueRentalsNotification() {
-        log.info("sendOverdueRentalsNotification method was invoked at " + LocalDateTime.now());
-        List<RentalDtoWithoutCarInfo> list = rentalRepository.findAll().stream()
-                .filter(rental -> rental.getActualReturnDate() == null
-                        && rental.getReturnDate().isBefore(LocalDate.now()))
-                .map(rentalMapper::entityRentalDtoWithoutCarInfo)
-                .toList();
+        final long start = System.nanoTime();
+        LocalDate today = LocalDate.now();
+        Pageable chunk = PageRequest.of(0, overdueReportChunkSize);
+        Map<Long, Long> overdueByCar = new TreeMap<>();
+        Map<Long, Long> overdueByUser = new TreeMap<>();
+        NotificationMessageBuilder report = new NotificationMessageBuilder(
+                message -> notificationDispatcher.deliver(List.of(message)));
+        report.appendLine("Rentals overdue on " + today + ":");
 
-        SendMessage sendMessage = new SendMessage();
-        String message = list.isEmpty() ? "No rentals overdue today!" : "Rentals overdue: " + list;
-        sendMessage.setText(message);
-        sendMessage.setChatId(CHAT_ID);
-        sendCreatedMessage(sendMessage);
-    }
+        long rowsScanned = 0;
+        List<OverdueRentalDto> rentals = rentalRepository.findOverdueRentals(today, chunk);
+        while (!rentals.isEmpty()) {
+            for (OverdueRentalDto rental : rentals) {
+                report.appendLine("Rental " + rental.getId() + " of user with id "
+                        + rental.getUserId() + ", car with id " + rental.getCarId()
+                        + ", return date " + rental.getReturnDate());
+                overdueByCar.merge(rental.getCarId(), 1L, Long::sum);
+                overdueByUser.merge(rental.getUserId(), 1L, Long::sum);
+            }
+            rowsScanned += rentals.size();
+            OverdueRentalDto last = rentals.get(rentals.size() - 1);
+            rentals = rentals.size() < overdueReportChunkSize ? List.of()
+                    : rentalRepository.findOverdueRentalsAfter(
+                            today, last.getReturnDate(), last.getId(), chunk);
+        }
 
-    @Override
-    public void sendSuccessfulPaymentNotification(long rentalId) {
-        SendMessage sendMessage = new SendMessage();
-        sendMessage.setText("Rental with id " + rentalId + " was successfully paid");
-        sendMessage.setChatId(CHAT_ID);
-        sendCreatedMessage(sendMessage);
+        if (rowsScanned == 0) {
+            notificationDispatcher.deliver(List.of("No rentals overdue today!"));
+        } else {
+            report.appendLine("Total overdue rentals: " + rowsScanned);
+            report.appendLine("Overdue rentals per car:");
+            overdueByCar.forEach((carId, count) ->
+                    report.appendLine("car with id " + carId + ": " + count));
+            report.appendLine("Overdue rentals per user:");
+            overdueByUser.forEach((userId, count) ->
+                    report.appendLine("user with id " + userId + ": " + count));
+            report.flush();
+        }
+        log.info("Overdue rentals report: {} rows scanned in {} ms", rowsScanned,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
     }
 
-    private void sendCreatedMessage(SendMessage sendMessage) {
-        try {
-            execute(sendMessage);
-        } catch (TelegramApiException e) {
-            throw new TelegramNotificationException("Your notification was not sent", e);
-        }
+    private String createMessage(OutboxEvent event) {
+        return switch (event.getEventType()) {
+            case RENTAL_CREATED -> {
+                RentalEventPayload payload =
+                        outboxService.readPayload(event, RentalEventPayload.class);
+                yield "New rental " + payload.getRentalId()
+                        + " was created by user with id " + payload.getUserId()
+                        + ". Rented car is " + payload.getCar();
+            }
+            case RENTAL_RETURNED -> {
+                RentalEventPayload payload =
+                        outboxService.readPayload(event, RentalEventPayload.class);
+                yield "Rental " + payload.getRentalId()
+                        + " was returned by user with id " + payload.getUserId()
+                        + ". Returned car is " + payload.getCar();
+            }
+            case PAYMENT_SUCCEEDED -> "Rental with id "
+                    + outboxService.readPayload(event, PaymentEventPayload.class).getRentalId()
+                    + " was successfully paid";
+        };
     }
 }
@@ -0,0 +1,12 @@
+package project.carsharingservice.service.outbox;
+
+import java.util.List;
+import project.carsharingservice.model.OutboxEvent;
+
+public interface OutboxEventHandler {
+    /**
+     * Handles a batch of outbox events and returns the events that were not handled,
+     * so they can be retried without repeating the ones that were.
+     */
+    List<OutboxEvent> handle(List<OutboxEvent> events);
+}
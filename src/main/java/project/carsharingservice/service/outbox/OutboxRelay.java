@@ -0,0 +1,132 @@
+package project.carsharingservice.service.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import project.carsharingservice.model.OutboxEvent;
+import project.carsharingservice.repository.OutboxEventRepository;
+
+@Component
+@Log4j2
+public class OutboxRelay {
+    private static final int MAX_BACKOFF_SHIFT = 16;
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxEventHandler> handlers;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration claimTimeout;
+    private final Duration initialBackoff;
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Counter relayedCounter;
+    private final Counter retriedCounter;
+    private final Counter deadCounter;
+    private final Timer batchTimer;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       List<OutboxEventHandler> handlers,
+                       TransactionTemplate transactionTemplate,
+                       MeterRegistry meterRegistry,
+                       @Value("${outbox.relay.batch-size}") int batchSize,
+                       @Value("${outbox.relay.max-attempts}") int maxAttempts,
+                       @Value("${outbox.relay.claim-timeout}") Duration claimTimeout,
+                       @Value("${outbox.relay.initial-backoff}") Duration initialBackoff) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.handlers = handlers;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.claimTimeout = claimTimeout;
+        this.initialBackoff = initialBackoff;
+        this.relayedCounter = meterRegistry.counter("outbox.events.relayed");
+        this.retriedCounter = meterRegistry.counter("outbox.events.retried");
+        this.deadCounter = meterRegistry.counter("outbox.events.dead");
+        this.batchTimer = meterRegistry.timer("outbox.relay.batch");
+        meterRegistry.gauge("outbox.lag.ms", lagMillis);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms}")
+    public void relay() {
+        try {
+            List<OutboxEvent> events;
+            do {
+                events = transactionTemplate.execute(status -> claimBatch());
+                List<OutboxEvent> claimedEvents = events;
+                batchTimer.record(() -> deliver(claimedEvents));
+            } while (events.size() == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Outbox relay failed, events will be retried on the next poll", e);
+        }
+    }
+
+    public long getLagMillis() {
+        return lagMillis.get();
+    }
+
+    private List<OutboxEvent> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> events = outboxEventRepository.findBatchForUpdate(now, batchSize);
+        if (events.isEmpty()) {
+            lagMillis.set(0);
+            return events;
+        }
+        lagMillis.set(Duration.between(events.get(0).getCreatedAt(), now).toMillis());
+        outboxEventRepository.claim(events.stream().map(OutboxEvent::getId).toList(),
+                now.plus(claimTimeout));
+        events.forEach(event -> event.setAttempts(event.getAttempts() + 1));
+        return events;
+    }
+
+    private void deliver(List<OutboxEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        Set<OutboxEvent> failedEvents = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (OutboxEventHandler handler : handlers) {
+            try {
+                failedEvents.addAll(handler.handle(events));
+            } catch (RuntimeException e) {
+                log.warn("Outbox handler {} failed", handler.getClass().getSimpleName(), e);
+                failedEvents.addAll(events);
+            }
+        }
+        List<Long> relayedIds = events.stream()
+                .filter(event -> !failedEvents.contains(event))
+                .map(OutboxEvent::getId)
+                .toList();
+        if (!relayedIds.isEmpty()) {
+            outboxEventRepository.deleteAllByIdInBatch(relayedIds);
+            relayedCounter.increment(relayedIds.size());
+        }
+        events.stream()
+                .filter(failedEvents::contains)
+                .forEach(event -> transactionTemplate.executeWithoutResult(
+                        status -> retryOrDeadLetter(event)));
+    }
+
+    private void retryOrDeadLetter(OutboxEvent event) {
+        if (event.getAttempts() >= maxAttempts) {
+            outboxEventRepository.updateStatus(event.getId(), OutboxEvent.Status.DEAD);
+            deadCounter.increment();
+            log.error("Outbox event {} of type {} was moved to dead letters after {} attempts",
+                    event.getId(), event.getEventType(), event.getAttempts());
+            return;
+        }
+        Duration backoff = initialBackoff.multipliedBy(
+                1L << Math.min(event.getAttempts() - 1, MAX_BACKOFF_SHIFT));
+        outboxEventRepository.reschedule(event.getId(), LocalDateTime.now().plus(backoff));
+        retriedCounter.increment();
+    }
+}
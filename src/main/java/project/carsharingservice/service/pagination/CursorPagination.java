@@ -0,0 +1,72 @@
+package project.carsharingservice.service.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import project.carsharingservice.dto.page.CursorPageDto;
+import project.carsharingservice.exception.InvalidCursorException;
+
+public final class CursorPagination {
+    public static final int MAX_PAGE_SIZE = 100;
+    private static final String SEPARATOR = "|";
+
+    private CursorPagination() {
+    }
+
+    public static String encodeCursor(Object... keys) {
+        String joinedKeys = Arrays.stream(keys)
+                .map(String::valueOf)
+                .collect(Collectors.joining(SEPARATOR));
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(joinedKeys.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String[] decodeCursor(String cursor, int keysCount) {
+        try {
+            String joinedKeys = new String(Base64.getUrlDecoder().decode(cursor),
+                    StandardCharsets.UTF_8);
+            String[] keys = joinedKeys.split("\\" + SEPARATOR, -1);
+            if (keys.length != keysCount) {
+                throw new InvalidCursorException("Cursor " + cursor + " is not valid");
+            }
+            return keys;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Cursor " + cursor + " is not valid");
+        }
+    }
+
+    public static <T> T parseKey(String cursor, String key, Function<String, T> parser) {
+        try {
+            return parser.apply(key);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Cursor " + cursor + " is not valid");
+        }
+    }
+
+    public static Pageable limit(int size) {
+        return PageRequest.of(0, pageSize(size) + 1);
+    }
+
+    public static <E, D> CursorPageDto<D> toPage(List<E> rows,
+                                                 int size,
+                                                 Function<E, D> mapper,
+                                                 Function<E, String> cursorExtractor) {
+        int pageSize = pageSize(size);
+        List<E> pageRows = rows.size() > pageSize ? rows.subList(0, pageSize) : rows;
+        String nextCursor = rows.size() > pageSize
+                ? cursorExtractor.apply(pageRows.get(pageSize - 1))
+                : null;
+        return new CursorPageDto<D>()
+                .setContent(pageRows.stream().map(mapper).toList())
+                .setNextCursor(nextCursor);
+    }
+
+    private static int pageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+}
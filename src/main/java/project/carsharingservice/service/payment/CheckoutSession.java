@@ -0,0 +1,4 @@
+package project.carsharingservice.service.payment;
+
+public record CheckoutSession(String id, String url) {
+}
@@ -0,0 +1,12 @@
+package project.carsharingservice.service.payment;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record CheckoutSessionRequest(String productName,
+                                     BigDecimal amount,
+                                     String successUrl,
+                                     String cancelUrl,
+                                     Instant expiresAt,
+                                     String idempotencyKey) {
+}
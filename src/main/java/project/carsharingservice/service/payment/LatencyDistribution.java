@@ -0,0 +1,34 @@
+package project.carsharingservice.service.payment;
+
+import java.time.Duration;
+import java.util.Random;
+
+public enum LatencyDistribution {
+    FIXED {
+        @Override
+        public Duration sample(Duration median, Duration p99, Random random) {
+            return median;
+        }
+    },
+    UNIFORM {
+        @Override
+        public Duration sample(Duration median, Duration p99, Random random) {
+            long max = p99.toNanos();
+            long min = Math.max(0, 2 * median.toNanos() - max);
+            return Duration.ofNanos(min + (long) (random.nextDouble() * (max - min)));
+        }
+    },
+    LOG_NORMAL {
+        @Override
+        public Duration sample(Duration median, Duration p99, Random random) {
+            double mu = Math.log(Math.max(1, median.toNanos()));
+            double sigma = Math.max(0, Math.log(Math.max(1, p99.toNanos())) - mu)
+                    / STANDARD_NORMAL_P99;
+            return Duration.ofNanos((long) Math.exp(mu + sigma * random.nextGaussian()));
+        }
+    };
+
+    private static final double STANDARD_NORMAL_P99 = 2.326;
+
+    public abstract Duration sample(Duration median, Duration p99, Random random);
+}
@@ -0,0 +1,5 @@
+package project.carsharingservice.service.payment;
+
+public interface PaymentGateway {
+    CheckoutSession createSession(CheckoutSessionRequest request);
+}
@@ -0,0 +1,177 @@
+package project.carsharingservice.service.payment;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import project.carsharingservice.dto.outbox.PaymentEventPayload;
+import project.carsharingservice.exception.PaymentWebhookUnavailableException;
+import project.carsharingservice.model.OutboxEvent;
+import project.carsharingservice.repository.PaymentWebhookRepository;
+import project.carsharingservice.service.OutboxService;
+
+@Component
+@Log4j2
+public class PaymentWebhookBatcher {
+    private final PaymentWebhookRepository paymentWebhookRepository;
+    private final OutboxService outboxService;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<PendingEvent> queue;
+    private final int maxBatchSize;
+    private final Duration ackTimeout;
+    private final Timer batchTimer;
+    private final DistributionSummary batchSizeSummary;
+    private final Counter duplicatedCounter;
+    private final Counter unmatchedCounter;
+    private volatile boolean running;
+    private Thread worker;
+
+    public PaymentWebhookBatcher(
+            PaymentWebhookRepository paymentWebhookRepository,
+            OutboxService outboxService,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${payment.webhook.queue-capacity}") int queueCapacity,
+            @Value("${payment.webhook.max-batch-size}") int maxBatchSize,
+            @Value("${payment.webhook.ack-timeout}") Duration ackTimeout) {
+        this.paymentWebhookRepository = paymentWebhookRepository;
+        this.outboxService = outboxService;
+        this.transactionTemplate = transactionTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.ackTimeout = ackTimeout;
+        this.batchTimer = Timer.builder("payment.webhook.batch.latency")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("payment.webhook.batch.size")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.duplicatedCounter = meterRegistry.counter("payment.webhook.events.duplicated");
+        this.unmatchedCounter = meterRegistry.counter("payment.webhook.events.unmatched");
+        meterRegistry.gauge("payment.webhook.queue.depth", queue, BlockingQueue::size);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = new Thread(this::processQueue, "payment-webhook-batcher");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    public void submit(PaymentWebhookEvent event) {
+        PendingEvent pendingEvent = new PendingEvent(event, new CompletableFuture<>());
+        if (!queue.offer(pendingEvent)) {
+            throw new PaymentWebhookUnavailableException("Webhook backlog is full, event "
+                    + event.eventId() + " was not accepted");
+        }
+        try {
+            pendingEvent.processed().get(ackTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new PaymentWebhookUnavailableException("Event " + event.eventId()
+                    + " was not processed in " + ackTimeout.toMillis() + " ms", e);
+        } catch (ExecutionException e) {
+            throw new PaymentWebhookUnavailableException("Event " + event.eventId()
+                    + " was not processed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PaymentWebhookUnavailableException("Event " + event.eventId()
+                    + " was not processed", e);
+        }
+    }
+
+    private void processQueue() {
+        List<PendingEvent> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingEvent first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingEvent> batch) {
+        long start = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status -> apply(batch));
+            batch.forEach(pendingEvent -> pendingEvent.processed().complete(null));
+        } catch (RuntimeException e) {
+            log.error("Can't apply batch of {} webhook events", batch.size(), e);
+            batch.forEach(pendingEvent -> pendingEvent.processed().completeExceptionally(e));
+        } finally {
+            batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            batchSizeSummary.record(batch.size());
+        }
+    }
+
+    private void apply(List<PendingEvent> batch) {
+        Map<String, String> sessionIdsByEventId = new LinkedHashMap<>();
+        batch.forEach(pendingEvent -> sessionIdsByEventId.putIfAbsent(
+                pendingEvent.event().eventId(), pendingEvent.event().sessionId()));
+        sessionIdsByEventId.keySet().removeAll(
+                paymentWebhookRepository.findProcessedEventIds(sessionIdsByEventId.keySet()));
+        duplicatedCounter.increment(batch.size() - sessionIdsByEventId.size());
+        if (sessionIdsByEventId.isEmpty()) {
+            return;
+        }
+        paymentWebhookRepository.insertProcessedEvents(
+                new ArrayList<>(sessionIdsByEventId.keySet()), LocalDateTime.now());
+
+        Set<String> sessionIds = new HashSet<>(sessionIdsByEventId.values());
+        Map<String, PaymentEventPayload> payments =
+                paymentWebhookRepository.findPendingPaymentsForUpdate(sessionIds);
+        if (payments.size() < sessionIds.size()) {
+            sessionIdsByEventId.forEach((eventId, sessionId) -> {
+                if (!payments.containsKey(sessionId)) {
+                    log.warn("Webhook event {} for session {} matches no pending payment",
+                            eventId, sessionId);
+                    unmatchedCounter.increment();
+                }
+            });
+        }
+        paymentWebhookRepository.markPaid(payments.keySet());
+        payments.values().forEach(payment -> outboxService.publish(
+                OutboxEvent.EventType.PAYMENT_SUCCEEDED, payment.getPaymentId(), payment));
+    }
+
+    private record PendingEvent(PaymentWebhookEvent event, CompletableFuture<Void> processed) {
+    }
+}
@@ -0,0 +1,4 @@
+package project.carsharingservice.service.payment;
+
+public record PaymentWebhookEvent(String eventId, String sessionId) {
+}
@@ -0,0 +1,67 @@
+package project.carsharingservice.service.payment;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import project.carsharingservice.repository.PaymentRepository;
+
+@Component
+@Log4j2
+public class PendingPaymentSweeper {
+    private final PaymentRepository paymentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+    private final Duration gracePeriod;
+    private final Counter expiredCounter;
+    private final DistributionSummary rowsPerRun;
+    private final Timer chunkTimer;
+
+    public PendingPaymentSweeper(PaymentRepository paymentRepository,
+                                 TransactionTemplate transactionTemplate,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${payment.expiry.chunk-size}") int chunkSize,
+                                 @Value("${payment.expiry.max-chunks-per-run}")
+                                 int maxChunksPerRun,
+                                 @Value("${payment.expiry.grace-period}") Duration gracePeriod) {
+        this.paymentRepository = paymentRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+        this.gracePeriod = gracePeriod;
+        this.expiredCounter = meterRegistry.counter("payment.expiry.expired");
+        this.rowsPerRun = meterRegistry.summary("payment.expiry.rows.per.run");
+        this.chunkTimer = meterRegistry.timer("payment.expiry.chunk");
+    }
+
+    @Scheduled(fixedDelayString = "${payment.expiry.sweep-interval-ms}")
+    public int sweep() {
+        LocalDateTime expiredBefore = LocalDateTime.now().minus(gracePeriod);
+        int expired = 0;
+        int chunks = 0;
+        try {
+            int updated;
+            do {
+                updated = chunkTimer.record(() -> transactionTemplate.execute(
+                        status -> paymentRepository.expirePendingPayments(
+                                expiredBefore, chunkSize)));
+                expired += updated;
+                chunks++;
+            } while (updated == chunkSize && chunks < maxChunksPerRun);
+        } catch (RuntimeException e) {
+            log.warn("Pending payment sweep failed, payments will be expired on the next run", e);
+        }
+        expiredCounter.increment(expired);
+        rowsPerRun.record(expired);
+        log.info("Expired {} pending payments in {} chunks", expired, chunks);
+        return expired;
+    }
+}
@@ -0,0 +1,24 @@
+package project.carsharingservice.service.payment;
+
+import java.math.BigDecimal;
+import java.time.temporal.ChronoUnit;
+import project.carsharingservice.model.Rental;
+
+public final class RentalPriceCalculator {
+    private static final BigDecimal FINE_MULTIPLIER = BigDecimal.valueOf(2);
+
+    private RentalPriceCalculator() {
+    }
+
+    public static BigDecimal calculateTotalPrice(Rental rental) {
+        long numberOfRentalDays = Math.max(1, ChronoUnit.DAYS.between(
+                rental.getRentalDate(), rental.getActualReturnDate()));
+        BigDecimal price = rental.getCar().getDailyFee()
+                .multiply(BigDecimal.valueOf(numberOfRentalDays));
+        return isRentalReturnedLate(rental) ? price.multiply(FINE_MULTIPLIER) : price;
+    }
+
+    public static boolean isRentalReturnedLate(Rental rental) {
+        return rental.getActualReturnDate().isAfter(rental.getReturnDate());
+    }
+}
@@ -0,0 +1,142 @@
+package project.carsharingservice.service.payment;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import project.carsharingservice.exception.CreateSessionException;
+import project.carsharingservice.exception.PaymentGatewayUnavailableException;
+
+@Component
+public class ResilientPaymentGateway {
+    private static final String METRIC_PREFIX = "payment.gateway";
+    private final PaymentGateway paymentGateway;
+    private final CircuitBreaker circuitBreaker;
+    private final ThreadPoolExecutor bulkhead;
+    private final Duration timeout;
+    private final Timer successTimer;
+    private final Timer failureTimer;
+    private final Timer timeoutTimer;
+    private final Counter bulkheadRejections;
+    private final Counter circuitOpenRejections;
+
+    public ResilientPaymentGateway(
+            PaymentGateway paymentGateway,
+            MeterRegistry meterRegistry,
+            @Value("${payment.resilience.timeout}") Duration timeout,
+            @Value("${payment.resilience.bulkhead.max-concurrent-calls}") int maxConcurrentCalls,
+            @Value("${payment.resilience.bulkhead.queue-capacity}") int queueCapacity,
+            @Value("${payment.resilience.circuit-breaker.window-size}") int windowSize,
+            @Value("${payment.resilience.circuit-breaker.minimum-calls}") int minimumCalls,
+            @Value("${payment.resilience.circuit-breaker.failure-rate-threshold}")
+            double failureRateThreshold,
+            @Value("${payment.resilience.circuit-breaker.open-duration}") Duration openDuration,
+            @Value("${payment.resilience.circuit-breaker.half-open-calls}") int halfOpenCalls) {
+        this.paymentGateway = paymentGateway;
+        this.timeout = timeout;
+        this.circuitBreaker = new CircuitBreaker(METRIC_PREFIX, Clock.systemUTC(), windowSize,
+                minimumCalls, failureRateThreshold, openDuration, halfOpenCalls);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.bulkhead = new ThreadPoolExecutor(maxConcurrentCalls, maxConcurrentCalls,
+                0L, TimeUnit.MILLISECONDS, queueCapacity > 0
+                        ? new ArrayBlockingQueue<>(queueCapacity)
+                        : new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable,
+                            "payment-gateway-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        new ExecutorServiceMetrics(bulkhead, METRIC_PREFIX + ".bulkhead", Tags.empty())
+                .bindTo(meterRegistry);
+        this.successTimer = latencyTimer(meterRegistry, "success");
+        this.failureTimer = latencyTimer(meterRegistry, "failure");
+        this.timeoutTimer = latencyTimer(meterRegistry, "timeout");
+        this.bulkheadRejections = meterRegistry.counter(METRIC_PREFIX + ".calls.rejected",
+                "reason", "bulkhead_full");
+        this.circuitOpenRejections = meterRegistry.counter(METRIC_PREFIX + ".calls.rejected",
+                "reason", "circuit_open");
+        for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+            meterRegistry.gauge(METRIC_PREFIX + ".circuit.state",
+                    Tags.of("state", state.name().toLowerCase(Locale.ROOT)), circuitBreaker,
+                    breaker -> breaker.getState() == state ? 1 : 0);
+        }
+    }
+
+    public CheckoutSession createSession(CheckoutSessionRequest request) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            circuitOpenRejections.increment();
+            throw new PaymentGatewayUnavailableException(
+                    "Payment gateway is temporarily unavailable, please retry later");
+        }
+        long start = System.nanoTime();
+        Future<CheckoutSession> future;
+        try {
+            future = bulkhead.submit(() -> paymentGateway.createSession(request));
+        } catch (RejectedExecutionException e) {
+            circuitBreaker.releasePermission();
+            bulkheadRejections.increment();
+            throw new PaymentGatewayUnavailableException(
+                    "Payment gateway is busy, please retry later", e);
+        }
+        try {
+            CheckoutSession session = future.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            successTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            circuitBreaker.onSuccess();
+            return session;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timeoutTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            circuitBreaker.onFailure();
+            throw new PaymentGatewayUnavailableException("Payment gateway did not respond in "
+                    + timeout.toMillis() + " ms, please retry later", e);
+        } catch (ExecutionException e) {
+            failureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            circuitBreaker.onFailure();
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new CreateSessionException("Can not create session", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            circuitBreaker.releasePermission();
+            throw new PaymentGatewayUnavailableException("Payment session creation was "
+                    + "interrupted", e);
+        }
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        bulkhead.shutdownNow();
+    }
+
+    private Timer latencyTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder(METRIC_PREFIX + ".latency")
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,74 @@
+package project.carsharingservice.service.payment;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import project.carsharingservice.exception.CreateSessionException;
+
+@Component
+@Log4j2
+@ConditionalOnProperty(name = "payment.gateway", havingValue = "simulator")
+public class SimulatedPaymentGateway implements PaymentGateway {
+    private static final String SESSION_ID_PREFIX = "cs_sim_";
+    private static final String CHECKOUT_SESSION_ID = "{CHECKOUT_SESSION_ID}";
+    private static final Duration IDEMPOTENCY_KEY_TTL = Duration.ofHours(24);
+    private static final int MAX_IDEMPOTENCY_KEYS = 100_000;
+    private final LatencyDistribution latencyDistribution;
+    private final Duration latencyMedian;
+    private final Duration latencyP99;
+    private final double failureRate;
+    private final Cache<String, CheckoutSession> sessionsByIdempotencyKey;
+
+    public SimulatedPaymentGateway(
+            @Value("${payment.simulator.latency-distribution}")
+            LatencyDistribution latencyDistribution,
+            @Value("${payment.simulator.latency-median}") Duration latencyMedian,
+            @Value("${payment.simulator.latency-p99}") Duration latencyP99,
+            @Value("${payment.simulator.failure-rate}") double failureRate) {
+        this.latencyDistribution = latencyDistribution;
+        this.latencyMedian = latencyMedian;
+        this.latencyP99 = latencyP99;
+        this.failureRate = failureRate;
+        this.sessionsByIdempotencyKey = Caffeine.newBuilder()
+                .maximumSize(MAX_IDEMPOTENCY_KEYS)
+                .expireAfterWrite(IDEMPOTENCY_KEY_TTL)
+                .build();
+        log.info("Payments are processed by the simulator with {} latency "
+                        + "(median {}, p99 {}) and failure rate {}",
+                latencyDistribution, latencyMedian, latencyP99, failureRate);
+    }
+
+    @Override
+    public CheckoutSession createSession(CheckoutSessionRequest request) {
+        if (request.idempotencyKey() == null) {
+            return simulateSession(request);
+        }
+        return sessionsByIdempotencyKey.get(request.idempotencyKey(),
+                key -> simulateSession(request));
+    }
+
+    private CheckoutSession simulateSession(CheckoutSessionRequest request) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        try {
+            TimeUnit.NANOSECONDS.sleep(
+                    latencyDistribution.sample(latencyMedian, latencyP99, random).toNanos());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CreateSessionException("Can not create session", e);
+        }
+        if (random.nextDouble() < failureRate) {
+            throw new CreateSessionException("Can not create session",
+                    new IllegalStateException("Simulated payment gateway failure"));
+        }
+        String sessionId = SESSION_ID_PREFIX + UUID.randomUUID().toString().replace("-", "");
+        return new CheckoutSession(sessionId,
+                request.successUrl().replace(CHECKOUT_SESSION_ID, sessionId));
+    }
+}
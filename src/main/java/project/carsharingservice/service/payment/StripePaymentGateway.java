@@ -0,0 +1,61 @@
+package project.carsharingservice.service.payment;
+
+import com.stripe.exception.StripeException;
+import com.stripe.model.checkout.Session;
+import com.stripe.net.RequestOptions;
+import com.stripe.param.checkout.SessionCreateParams;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import project.carsharingservice.exception.CreateSessionException;
+
+@Component
+@ConditionalOnProperty(name = "payment.gateway", havingValue = "stripe", matchIfMissing = true)
+public class StripePaymentGateway implements PaymentGateway {
+    private static final String CURRENCY = "usd";
+    private final String apiKey;
+
+    public StripePaymentGateway(@Value("${stripe.secret.key}") String apiKey) {
+        this.apiKey = apiKey;
+    }
+
+    @Override
+    public CheckoutSession createSession(CheckoutSessionRequest request) {
+        SessionCreateParams params =
+                SessionCreateParams.builder()
+                        .setMode(SessionCreateParams.Mode.PAYMENT)
+                        .setSuccessUrl(request.successUrl())
+                        .setCancelUrl(request.cancelUrl())
+                        .addLineItem(
+                                SessionCreateParams.LineItem.builder()
+                                        .setQuantity(1L)
+                                        .setPriceData(
+                                                SessionCreateParams.LineItem.PriceData.builder()
+                                                        .setProductData(
+                                                                SessionCreateParams.LineItem
+                                                                        .PriceData
+                                                                        .ProductData.builder()
+                                                                        .setName(request
+                                                                                .productName())
+                                                                        .build()
+                                                        )
+                                                        .setUnitAmount(request.amount()
+                                                                .longValue() * 100L)
+                                                        .setCurrency(CURRENCY)
+                                                        .build())
+                                        .build())
+                        .setExpiresAt(request.expiresAt().getEpochSecond())
+                        .build();
+
+        RequestOptions requestOptions = RequestOptions.builder()
+                .setApiKey(apiKey)
+                .setIdempotencyKey(request.idempotencyKey())
+                .build();
+        try {
+            Session session = Session.create(params, requestOptions);
+            return new CheckoutSession(session.getId(), session.getUrl());
+        } catch (StripeException e) {
+            throw new CreateSessionException("Can not create session", e);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package project.carsharingservice.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import project.carsharingservice.dto.car.CarImportResultDto;
+import project.carsharingservice.service.CarImportService;
+
+@Log4j2
+@SpringBootTest
+public class CarImportBenchmark {
+    private static final int CARS = 100_000;
+    @Autowired
+    private CarImportService carImportService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM cars WHERE brand = 'Benchmark'");
+    }
+
+    @Test
+    public void measureCsvImportOfOneHundredThousandCars() {
+        StringBuilder csv = new StringBuilder("brand,model,type,inventory,dailyFee\n");
+        for (int i = 0; i < CARS; i++) {
+            csv.append("Benchmark,Import model ").append(i).append(",sedan,10,")
+                    .append(10 + i % 500).append(".00\n");
+        }
+        byte[] content = csv.toString().getBytes(StandardCharsets.UTF_8);
+
+        long start = System.nanoTime();
+        CarImportResultDto result = carImportService.importCarsFromCsv(
+                new ByteArrayInputStream(content));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        log.info("Imported {} cars in {} ms ({} cars/s)", result.getImportedCount(),
+                elapsedMillis, result.getImportedCount() * 1000L / Math.max(1, elapsedMillis));
+        Assertions.assertEquals(CARS, result.getImportedCount());
+        Assertions.assertTrue(result.getErrors().isEmpty());
+    }
+}
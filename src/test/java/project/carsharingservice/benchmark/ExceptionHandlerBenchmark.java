@@ -0,0 +1,81 @@
+package project.carsharingservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import project.carsharingservice.controller.AuthController;
+import project.carsharingservice.dto.auth.registration.UserRegistrationRequestDto;
+import project.carsharingservice.exception.CustomGlobalExceptionHandler;
+import project.carsharingservice.exception.EntityNotFoundException;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExceptionHandlerBenchmark {
+    private CustomGlobalExceptionHandler exceptionHandler;
+    private ObjectMapper objectMapper;
+    private WebRequest webRequest;
+    private EntityNotFoundException entityNotFoundException;
+    private MethodArgumentNotValidException methodArgumentNotValidException;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        exceptionHandler = new CustomGlobalExceptionHandler(new SimpleMeterRegistry());
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        webRequest = new ServletWebRequest(new MockHttpServletRequest("POST",
+                "/auth/registration"));
+        entityNotFoundException = new EntityNotFoundException("Car with id 1 was not found");
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(
+                new UserRegistrationRequestDto(), "userRegistrationRequestDto");
+        bindingResult.rejectValue("email", "Email", "must be a well-formed email address");
+        bindingResult.rejectValue("password", "Password", "Invalid password format");
+        bindingResult.rejectValue("firstName", "NotBlank", "must not be blank");
+        bindingResult.reject("PasswordMatcher", "Passwords don't match");
+        methodArgumentNotValidException = new MethodArgumentNotValidException(
+                new MethodParameter(AuthController.class.getMethod("registration",
+                        UserRegistrationRequestDto.class), 0), bindingResult);
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> handleEntityNotFoundException() {
+        return exceptionHandler.handleUserNotFoundException(entityNotFoundException);
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> handleMethodArgumentNotValid() throws Exception {
+        return exceptionHandler.handleException(methodArgumentNotValidException, webRequest);
+    }
+
+    @Benchmark
+    public byte[] handleEntityNotFoundExceptionAndWriteJson() throws Exception {
+        return objectMapper.writeValueAsBytes(exceptionHandler
+                .handleUserNotFoundException(entityNotFoundException).getBody());
+    }
+
+    @Benchmark
+    public byte[] handleMethodArgumentNotValidAndWriteJson() throws Exception {
+        return objectMapper.writeValueAsBytes(exceptionHandler
+                .handleException(methodArgumentNotValidException, webRequest).getBody());
+    }
+}
@@ -0,0 +1,100 @@
+package project.carsharingservice.benchmark;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import project.carsharingservice.dto.export.ExportFormat;
+import project.carsharingservice.service.ExportService;
+
+@Log4j2
+@SpringBootTest
+public class ExportMemoryBenchmark {
+    private static final int RENTALS = 1_000_000;
+    private static final String[] SEED_DATA = {
+            "SET SESSION cte_max_recursion_depth = " + RENTALS,
+            "INSERT INTO users (email, password, first_name, last_name, is_deleted) "
+                    + "VALUES ('export@example.com', 'hashedPassword', 'John', 'Doe', false)",
+            "INSERT INTO cars (brand, model, type, inventory, daily_fee, is_deleted) "
+                    + "VALUES ('Benchmark', 'Export model', 'SEDAN', 10, 50.00, false)",
+            "INSERT INTO rentals (rental_date, return_date, actual_return_date, car_id, user_id) "
+                    + "WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq "
+                    + "WHERE n < " + RENTALS + ") "
+                    + "SELECT DATE '2020-01-01' + INTERVAL (n % 1500) DAY, "
+                    + "DATE '2020-01-08' + INTERVAL (n % 1500) DAY, NULL, "
+                    + "(SELECT MAX(id) FROM cars), (SELECT MAX(id) FROM users) FROM seq"
+    };
+    @Autowired
+    private ExportService exportService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM rentals WHERE user_id = "
+                + "(SELECT id FROM users WHERE email = 'export@example.com')");
+        jdbcTemplate.update("DELETE FROM cars WHERE model = 'Export model'");
+        jdbcTemplate.update("DELETE FROM users WHERE email = 'export@example.com'");
+    }
+
+    @Test
+    public void exportOneMillionRentalsWithConstantHeap() {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                for (String sql : SEED_DATA) {
+                    statement.execute(sql);
+                }
+            }
+            return null;
+        });
+        ManagementFactory.getMemoryPoolMXBeans().forEach(MemoryPoolMXBean::resetPeakUsage);
+        LineCountingOutputStream output = new LineCountingOutputStream();
+
+        long start = System.nanoTime();
+        exportService.exportRentals(LocalDate.of(2020, 1, 1), LocalDate.of(2030, 1, 1),
+                ExportFormat.CSV, output);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        long peakHeapBytes = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .mapToLong(pool -> pool.getPeakUsage().getUsed())
+                .sum();
+        log.info("Exported {} rows in {} ms, peak heap {} MB of max {} MB",
+                output.getLines() - 1, elapsedMillis, peakHeapBytes / 1024 / 1024,
+                Runtime.getRuntime().maxMemory() / 1024 / 1024);
+        Assertions.assertEquals(RENTALS + 1, output.getLines());
+    }
+
+    private static class LineCountingOutputStream extends OutputStream {
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                write(bytes[i]);
+            }
+        }
+
+        long getLines() {
+            return lines;
+        }
+    }
+}
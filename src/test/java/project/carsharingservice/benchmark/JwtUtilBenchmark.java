@@ -0,0 +1,99 @@
+package project.carsharingservice.benchmark;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.SecretKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import project.carsharingservice.security.JwtUtil;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+public class JwtUtilBenchmark {
+    private static final String SECRET = "benchmark-secret-key-with-at-least-256-bits-length";
+    private static final long EXPIRATION = TimeUnit.HOURS.toMillis(1);
+    private static final int ACTIVE_USERS = 1_000;
+    private SecretKey secretKey;
+    private JwtParser jwtParser;
+    private JwtUtil jwtUtil;
+    private String[] tokens;
+
+    @Setup
+    public void setUp() {
+        secretKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parser()
+                .verifyWith(secretKey)
+                .build();
+        jwtUtil = new JwtUtil(SECRET, EXPIRATION, ACTIVE_USERS * 10L);
+        tokens = new String[ACTIVE_USERS];
+        for (int i = 0; i < ACTIVE_USERS; i++) {
+            tokens[i] = jwtUtil.generateToken("user" + i + "@example.com");
+        }
+    }
+
+    @Benchmark
+    public String legacyValidateThenExtract() {
+        String token = nextToken();
+        Claims validatedClaims = Jwts.parser()
+                .verifyWith(secretKey)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+        if (validatedClaims.getExpiration().before(new Date())) {
+            throw new IllegalStateException("Expired token");
+        }
+        return Jwts.parser()
+                .verifyWith(secretKey)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload()
+                .getSubject();
+    }
+
+    @Benchmark
+    public String sharedParserSingleParse() {
+        return jwtParser.parseSignedClaims(nextToken())
+                .getPayload()
+                .getSubject();
+    }
+
+    @Benchmark
+    public String getValidClaimsWithVerifiedTokenCache() {
+        return jwtUtil.getValidClaims(nextToken()).getSubject();
+    }
+
+    @Benchmark
+    public boolean isValidToken() {
+        return jwtUtil.isValidToken(nextToken());
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("user"
+                + ThreadLocalRandom.current().nextInt(ACTIVE_USERS) + "@example.com");
+    }
+
+    private String nextToken() {
+        return tokens[ThreadLocalRandom.current().nextInt(tokens.length)];
+    }
+}
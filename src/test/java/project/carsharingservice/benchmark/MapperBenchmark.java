@@ -0,0 +1,108 @@
+package project.carsharingservice.benchmark;
+
+import java.math.BigDecimal;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import project.carsharingservice.dto.car.AddNewCarRequestDto;
+import project.carsharingservice.dto.car.CarDto;
+import project.carsharingservice.dto.payment.PaymentDto;
+import project.carsharingservice.dto.rental.RentalDto;
+import project.carsharingservice.dto.rental.RentalDtoWithoutCarInfo;
+import project.carsharingservice.mapper.CarMapper;
+import project.carsharingservice.mapper.PaymentMapper;
+import project.carsharingservice.mapper.RentalMapper;
+import project.carsharingservice.mapper.impl.CarMapperImpl;
+import project.carsharingservice.mapper.impl.PaymentMapperImpl;
+import project.carsharingservice.mapper.impl.RentalMapperImpl;
+import project.carsharingservice.model.Car;
+import project.carsharingservice.model.Payment;
+import project.carsharingservice.model.Rental;
+import project.carsharingservice.model.User;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+    private CarMapper carMapper;
+    private RentalMapper rentalMapper;
+    private PaymentMapper paymentMapper;
+    private Car car;
+    private Rental rental;
+    private Payment payment;
+    private AddNewCarRequestDto addNewCarRequestDto;
+
+    @Setup
+    public void setUp() throws MalformedURLException {
+        carMapper = new CarMapperImpl();
+        rentalMapper = new RentalMapperImpl(carMapper);
+        paymentMapper = new PaymentMapperImpl();
+        car = new Car()
+                .setId(1L)
+                .setBrand("Toyota")
+                .setModel("Camry")
+                .setType(Car.Type.SEDAN)
+                .setInventory(10)
+                .setDailyFee(BigDecimal.valueOf(50));
+        rental = new Rental()
+                .setId(1L)
+                .setRentalDate(LocalDate.of(2024, 1, 1))
+                .setReturnDate(LocalDate.of(2024, 1, 8))
+                .setActualReturnDate(LocalDate.of(2024, 1, 10))
+                .setCar(car)
+                .setUser(new User().setId(1L));
+        payment = new Payment()
+                .setId(1L)
+                .setRental(rental)
+                .setPaymentStatus(Payment.PaymentStatus.PENDING)
+                .setPaymentType(Payment.PaymentType.FINE)
+                .setSessionUrl(new URL("https://checkout.stripe.com/c/pay/cs_test_benchmark"))
+                .setSessionId("cs_test_benchmark")
+                .setTotalPrice(BigDecimal.valueOf(900));
+        addNewCarRequestDto = new AddNewCarRequestDto()
+                .setBrand("Toyota")
+                .setModel("Camry")
+                .setType("Sedan")
+                .setInventory(10)
+                .setDailyFee(BigDecimal.valueOf(50));
+    }
+
+    @Benchmark
+    public CarDto carToCarDto() {
+        return carMapper.entityToCarDto(car);
+    }
+
+    @Benchmark
+    public Car addNewCarRequestDtoToCar() {
+        return carMapper.addNewCarRequestDtoToEntity(addNewCarRequestDto);
+    }
+
+    @Benchmark
+    public RentalDto rentalToRentalDto() {
+        return rentalMapper.entityToRentalDto(rental);
+    }
+
+    @Benchmark
+    public RentalDtoWithoutCarInfo rentalToRentalDtoWithoutCarInfo() {
+        return rentalMapper.entityRentalDtoWithoutCarInfo(rental);
+    }
+
+    @Benchmark
+    public PaymentDto paymentToPaymentDto() {
+        return paymentMapper.entityToPaymentDto(payment);
+    }
+}
@@ -0,0 +1,371 @@
+package project.carsharingservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.log4j.Log4j2;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import project.carsharingservice.config.CustomMySqlContainer;
+
+@Log4j2
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "payment.gateway=simulator",
+        "payment.simulator.latency-distribution=LOG_NORMAL",
+        "payment.simulator.latency-median=150ms",
+        "payment.simulator.latency-p99=800ms",
+        "payment.simulator.failure-rate=0.0"
+})
+public class MixedWorkloadBenchmark {
+    private static final String PASSWORD = "Password1234$";
+    private static final String EMAIL_PATTERN = "load%@example.com";
+    private static final String CAR_BRAND = "LoadTest";
+    private static final int MAX_OPEN_RENTALS = 3;
+    private static final long HIGHEST_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final Path REPORT_DIRECTORY = Path.of("target", "load-test");
+    private final Map<String, EndpointStats> stats = new ConcurrentSkipListMap<>();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Value("${load.seed.users:10000}")
+    private int users;
+    @Value("${load.seed.cars:1000}")
+    private int cars;
+    @Value("${load.seed.rentals:200000}")
+    private int rentals;
+    @Value("${load.virtual-users:200}")
+    private int virtualUsers;
+    @Value("${load.warmup:15s}")
+    private Duration warmup;
+    @Value("${load.duration:60s}")
+    private Duration duration;
+    @Value("${load.think-time:0ms}")
+    private Duration thinkTime;
+    private long firstCarId;
+
+    @DynamicPropertySource
+    static void dataSourceProperties(DynamicPropertyRegistry registry) {
+        CustomMySqlContainer container = CustomMySqlContainer.getInstance();
+        container.start();
+        registry.add("spring.datasource.url", container::getJdbcUrl);
+        registry.add("spring.datasource.username", container::getUsername);
+        registry.add("spring.datasource.password", container::getPassword);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE o FROM outbox_events o JOIN rentals r ON r.id = o.aggregate_id "
+                + "JOIN users u ON u.id = r.user_id "
+                + "WHERE o.event_type LIKE 'RENTAL_%' AND u.email LIKE ?", EMAIL_PATTERN);
+        jdbcTemplate.update("DELETE p FROM payments p JOIN rentals r ON r.id = p.rental_id "
+                + "JOIN users u ON u.id = r.user_id WHERE u.email LIKE ?", EMAIL_PATTERN);
+        jdbcTemplate.update("DELETE r FROM rentals r JOIN users u ON u.id = r.user_id "
+                + "WHERE u.email LIKE ?", EMAIL_PATTERN);
+        jdbcTemplate.update("DELETE ur FROM users_roles ur JOIN users u ON u.id = ur.user_id "
+                + "WHERE u.email LIKE ?", EMAIL_PATTERN);
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE ?", EMAIL_PATTERN);
+        jdbcTemplate.update("DELETE FROM cars WHERE brand = ?", CAR_BRAND);
+    }
+
+    @Test
+    public void measureMixedWorkload() throws Exception {
+        long start = System.nanoTime();
+        seed();
+        log.info("Seeded {} users, {} cars and {} rentals in {} s", users, cars, rentals,
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+        firstCarId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM cars WHERE brand = ?",
+                Long.class, CAR_BRAND);
+
+        long deadline = System.nanoTime() + warmup.plus(duration).toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < virtualUsers; i++) {
+                final int userNumber = i % users + 1;
+                executor.execute(() -> runVirtualUser(userNumber, deadline));
+            }
+            TimeUnit.NANOSECONDS.sleep(warmup.toNanos());
+            stats.values().forEach(EndpointStats::reset);
+        }
+
+        Assertions.assertFalse(stats.isEmpty());
+        report();
+    }
+
+    private void seed() {
+        String customerRole = "(SELECT id FROM roles WHERE role_name = 'ROLE_CUSTOMER')";
+        String firstUser = "(SELECT MIN(id) FROM users WHERE email LIKE '" + EMAIL_PATTERN + "')";
+        String firstCar = "(SELECT MIN(id) FROM cars WHERE brand = '" + CAR_BRAND + "')";
+        executeInOneSession(
+                "SET SESSION cte_max_recursion_depth = " + Math.max(rentals, users),
+                "INSERT INTO users (email, password, first_name, last_name, is_deleted) "
+                        + sequence(users) + "SELECT CONCAT('load', n, '@example.com'), '"
+                        + passwordEncoder.encode(PASSWORD) + "', 'John', 'Doe', false FROM seq",
+                "INSERT INTO users_roles (user_id, role_id) SELECT id, " + customerRole
+                        + " FROM users WHERE email LIKE '" + EMAIL_PATTERN + "'",
+                "INSERT INTO cars (brand, model, type, inventory, daily_fee, is_deleted) "
+                        + sequence(cars) + "SELECT '" + CAR_BRAND + "', "
+                        + "CONCAT('Load model ', n), "
+                        + "ELT(1 + n % 4, 'SEDAN', 'SUV', 'HATCHBACK', 'UNIVERSAL'), "
+                        + "100000, 20 + n % 80, false FROM seq",
+                "INSERT INTO rentals (rental_date, return_date, actual_return_date, car_id, "
+                        + "user_id) " + sequence(rentals)
+                        + "SELECT DATE '2023-01-01' + INTERVAL (n % 700) DAY, "
+                        + "DATE '2023-01-08' + INTERVAL (n % 700) DAY, "
+                        + "CASE WHEN n % 10 = 0 THEN NULL "
+                        + "WHEN n % 7 = 0 THEN DATE '2023-01-10' + INTERVAL (n % 700) DAY "
+                        + "ELSE DATE '2023-01-07' + INTERVAL (n % 700) DAY END, "
+                        + firstCar + " + n % " + cars + ", " + firstUser + " + n % " + users
+                        + " FROM seq",
+                "INSERT INTO payments (rental_id, payment_status, payment_type, session_url, "
+                        + "session_id, total_price) "
+                        + "SELECT r.id, 'PAID', IF(r.actual_return_date > r.return_date, "
+                        + "'FINE', 'PAYMENT'), CONCAT('https://checkout.stripe.com/c/pay/cs_load_', "
+                        + "r.id), CONCAT('cs_load_', r.id), 350.00 FROM rentals r "
+                        + "JOIN users u ON u.id = r.user_id WHERE u.email LIKE '" + EMAIL_PATTERN
+                        + "' AND r.actual_return_date IS NOT NULL AND r.id % 3 <> 0",
+                "ANALYZE TABLE users, cars, rentals, payments");
+    }
+
+    private String sequence(int size) {
+        return "WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq "
+                + "WHERE n < " + size + ") ";
+    }
+
+    private void runVirtualUser(int userNumber, long deadline) {
+        VirtualUser user = new VirtualUser("load" + userNumber + "@example.com");
+        user.login();
+        while (System.nanoTime() < deadline) {
+            user.nextOperation();
+            if (!thinkTime.isZero()) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(thinkTime.toNanos());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void report() throws IOException {
+        Files.createDirectories(REPORT_DIRECTORY);
+        double seconds = duration.toNanos() / (double) TimeUnit.SECONDS.toNanos(1);
+        StringBuilder report = new StringBuilder(String.format(
+                "%n%d virtual users, %d s measured after %d s warmup%n"
+                        + "%-32s %9s %7s %8s %9s %8s %8s %8s %8s %8s%n",
+                virtualUsers, duration.toSeconds(), warmup.toSeconds(), "endpoint",
+                "requests", "errors", "error %", "req/s", "p50 ms", "p90 ms", "p99 ms",
+                "p99.9 ms", "max ms"));
+        for (Map.Entry<String, EndpointStats> entry : stats.entrySet()) {
+            Histogram histogram = entry.getValue().recorder.getIntervalHistogram();
+            long requests = histogram.getTotalCount();
+            long errors = entry.getValue().errors.sum();
+            report.append(String.format("%-32s %9d %7d %8.2f %9.1f %8.1f %8.1f %8.1f %8.1f "
+                            + "%8.1f%n", entry.getKey(), requests, errors,
+                    requests == 0 ? 0 : errors * 100.0 / requests, requests / seconds,
+                    histogram.getValueAtPercentile(50) / 1000.0,
+                    histogram.getValueAtPercentile(90) / 1000.0,
+                    histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getValueAtPercentile(99.9) / 1000.0,
+                    histogram.getMaxValue() / 1000.0));
+            Path histogramFile = REPORT_DIRECTORY.resolve(entry.getKey()
+                    .replaceAll("[^A-Za-z0-9]+", "_") + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(histogramFile))) {
+                histogram.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        log.info(report);
+        log.info("Latency histograms (ms) were written to {}", REPORT_DIRECTORY.toAbsolutePath());
+    }
+
+    private void executeInOneSession(String... statements) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                for (String sql : statements) {
+                    statement.execute(sql);
+                }
+            }
+            return null;
+        });
+    }
+
+    private static final class EndpointStats {
+        private final Recorder recorder = new Recorder(HIGHEST_LATENCY_MICROS, 3);
+        private final LongAdder errors = new LongAdder();
+
+        void record(long latencyNanos, boolean failed) {
+            recorder.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos),
+                    HIGHEST_LATENCY_MICROS));
+            if (failed) {
+                errors.increment();
+            }
+        }
+
+        void reset() {
+            recorder.reset();
+            errors.reset();
+        }
+    }
+
+    private final class VirtualUser {
+        private final String email;
+        private final Deque<Long> openRentals = new ArrayDeque<>();
+        private final Deque<Long> unpaidRentals = new ArrayDeque<>();
+        private String token;
+
+        VirtualUser(String email) {
+            this.email = email;
+        }
+
+        void nextOperation() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int operation = random.nextInt(100);
+            if (operation < 30) {
+                send("GET /cars", request("/cars?page=" + random.nextInt(50) + "&size=20")
+                        .GET());
+            } else if (operation < 45) {
+                send("GET /cars/{carId}", request("/cars/" + (firstCarId
+                        + random.nextInt(cars))).GET());
+            } else if (operation < 50) {
+                send("GET /cars/search", request("/cars/search?brand=" + CAR_BRAND
+                        + "&type=suv&maxDailyFee=" + (20 + random.nextInt(80))
+                        + "&page=0&size=20").GET());
+            } else if (operation < 60) {
+                send("GET /rentals", authorized("/rentals?isActive=false&page=0&size=10")
+                        .GET());
+            } else if (operation < 65) {
+                login();
+            } else if (operation < 80 || openRentals.isEmpty()) {
+                createOrReturnRental();
+            } else if (operation < 90 || unpaidRentals.isEmpty()) {
+                returnRental();
+            } else {
+                createPayment();
+            }
+        }
+
+        void login() {
+            HttpResponse<String> response = send("POST /auth/login", request("/auth/login")
+                    .POST(json(Map.of("email", email, "password", PASSWORD))));
+            if (response != null && response.statusCode() == 200) {
+                token = readField(response, "token");
+            }
+        }
+
+        private void createOrReturnRental() {
+            if (openRentals.size() >= MAX_OPEN_RENTALS) {
+                returnRental();
+                return;
+            }
+            HttpResponse<String> response = send("POST /rentals", authorized("/rentals")
+                    .POST(json(Map.of("numberOfDays", 1 + ThreadLocalRandom.current()
+                                    .nextInt(14),
+                            "carId", firstCarId + ThreadLocalRandom.current().nextInt(cars)))));
+            if (response != null && response.statusCode() == 200) {
+                openRentals.add(Long.valueOf(readField(response, "id")));
+            }
+        }
+
+        private void returnRental() {
+            Long rentalId = openRentals.poll();
+            if (rentalId == null) {
+                createOrReturnRental();
+                return;
+            }
+            HttpResponse<String> response = send("POST /rentals/{rentalId}/return",
+                    authorized("/rentals/" + rentalId + "/return")
+                            .POST(HttpRequest.BodyPublishers.noBody()));
+            if (response != null && response.statusCode() == 200) {
+                unpaidRentals.add(rentalId);
+            }
+        }
+
+        private void createPayment() {
+            Long rentalId = unpaidRentals.poll();
+            send("POST /payments", authorized("/payments")
+                    .header("Idempotency-Key", email + "-" + rentalId)
+                    .POST(json(Map.of("rentalId", rentalId))));
+        }
+
+        private HttpRequest.Builder authorized(String path) {
+            return request(path).header("Authorization", "Bearer " + token);
+        }
+
+        private HttpRequest.Builder request(String path) {
+            return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                    .header("Content-Type", "application/json")
+                    .timeout(Duration.ofSeconds(30));
+        }
+
+        private HttpRequest.BodyPublisher json(Object body) {
+            try {
+                return HttpRequest.BodyPublishers.ofString(
+                        objectMapper.writeValueAsString(body));
+            } catch (IOException e) {
+                throw new IllegalStateException("Can't write request body", e);
+            }
+        }
+
+        private String readField(HttpResponse<String> response, String field) {
+            try {
+                return objectMapper.readTree(response.body()).get(field).asText();
+            } catch (IOException e) {
+                throw new IllegalStateException("Can't read response body", e);
+            }
+        }
+
+        private HttpResponse<String> send(String endpoint, HttpRequest.Builder request) {
+            EndpointStats endpointStats = stats.computeIfAbsent(endpoint,
+                    key -> new EndpointStats());
+            long start = System.nanoTime();
+            try {
+                HttpResponse<String> response = httpClient.send(request.build(),
+                        HttpResponse.BodyHandlers.ofString());
+                endpointStats.record(System.nanoTime() - start, response.statusCode() >= 400);
+                return response;
+            } catch (IOException e) {
+                endpointStats.record(System.nanoTime() - start, true);
+                return null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+    }
+}
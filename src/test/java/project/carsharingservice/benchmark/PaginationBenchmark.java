@@ -0,0 +1,119 @@
+package project.carsharingservice.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import project.carsharingservice.config.CustomMySqlContainer;
+import project.carsharingservice.model.Car;
+import project.carsharingservice.repository.CarRepository;
+
+@Log4j2
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class PaginationBenchmark {
+    private static final int CARS = 300_000;
+    private static final int PAGE_NUMBER = 10_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int WARMUP_ITERATIONS = 20;
+    private static final int MEASUREMENT_ITERATIONS = 200;
+    private static final String[] SEED_DATA = {
+            "SET SESSION cte_max_recursion_depth = " + CARS,
+            "INSERT INTO cars (brand, model, type, inventory, daily_fee, is_deleted) "
+                    + "WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq "
+                    + "WHERE n < " + CARS + ") "
+                    + "SELECT 'Benchmark', CONCAT('Model ', n), 'SEDAN', 10, "
+                    + "10 + n % 500, false FROM seq",
+            "ANALYZE TABLE cars"
+    };
+    @Autowired
+    private CarRepository carRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void dataSourceProperties(DynamicPropertyRegistry registry) {
+        CustomMySqlContainer container = CustomMySqlContainer.getInstance();
+        container.start();
+        registry.add("spring.datasource.url", container::getJdbcUrl);
+        registry.add("spring.datasource.username", container::getUsername);
+        registry.add("spring.datasource.password", container::getPassword);
+    }
+
+    @AfterAll
+    static void afterAll(@Autowired JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.execute("DELETE FROM cars WHERE brand = 'Benchmark'");
+    }
+
+    @Test
+    public void measurePageTenThousandWithOffsetAndKeysetPagination() {
+        long start = System.nanoTime();
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                for (String sql : SEED_DATA) {
+                    statement.execute(sql);
+                }
+            }
+            return null;
+        });
+        log.info("Seeded {} cars in {} s", CARS,
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+
+        int offset = PAGE_NUMBER * PAGE_SIZE - 1;
+        Car lastById = carRepository.findAll(PageRequest.of(offset, 1, Sort.by("id")))
+                .getContent().get(0);
+        Car lastByDailyFee = carRepository.findAll(PageRequest.of(offset, 1,
+                Sort.by("dailyFee", "id"))).getContent().get(0);
+        BigDecimal lastDailyFee = lastByDailyFee.getDailyFee();
+
+        Map<String, double[]> results = new LinkedHashMap<>();
+        results.put("offset, order by id", measure(() -> carRepository.findAll(
+                PageRequest.of(PAGE_NUMBER, PAGE_SIZE, Sort.by("id")))));
+        results.put("keyset, order by id", measure(() -> carRepository.findPageAfterId(
+                lastById.getId(), PageRequest.of(0, PAGE_SIZE))));
+        results.put("offset, order by daily fee", measure(() -> carRepository.findAll(
+                PageRequest.of(PAGE_NUMBER, PAGE_SIZE, Sort.by("dailyFee", "id")))));
+        results.put("keyset, order by daily fee", measure(() -> carRepository
+                .findPageAfterDailyFee(lastDailyFee, lastByDailyFee.getId(),
+                        PageRequest.of(0, PAGE_SIZE))));
+
+        StringBuilder report = new StringBuilder(String.format("%n%-32s %22s%n",
+                "page " + PAGE_NUMBER + " (avg / p95, ms)", "latency"));
+        results.forEach((mode, latency) -> report.append(String.format(
+                "%-32s %10.3f / %9.3f%n", mode, latency[0], latency[1])));
+        log.info(report);
+    }
+
+    private double[] measure(Runnable call) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            call.run();
+        }
+        long[] latencies = new long[MEASUREMENT_ITERATIONS];
+        for (int i = 0; i < MEASUREMENT_ITERATIONS; i++) {
+            long start = System.nanoTime();
+            call.run();
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        double average = Arrays.stream(latencies).average().orElse(0) / 1_000_000;
+        double p95 = latencies[(int) (MEASUREMENT_ITERATIONS * 0.95)] / 1_000_000.0;
+        return new double[]{average, p95};
+    }
+}
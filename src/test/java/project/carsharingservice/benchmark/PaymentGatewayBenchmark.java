@@ -0,0 +1,149 @@
+package project.carsharingservice.benchmark;
+
+import com.stripe.net.Webhook;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import project.carsharingservice.dto.payment.MakePaymentRequestDto;
+import project.carsharingservice.model.User;
+import project.carsharingservice.service.PaymentService;
+import project.carsharingservice.service.PaymentWebhookService;
+
+@Log4j2
+@SpringBootTest(properties = {
+        "payment.gateway=simulator",
+        "payment.simulator.latency-distribution=LOG_NORMAL",
+        "payment.simulator.latency-median=150ms",
+        "payment.simulator.latency-p99=800ms",
+        "payment.simulator.failure-rate=0.0"
+})
+public class PaymentGatewayBenchmark {
+    private static final int RENTALS = 2_000;
+    private static final int THREADS = 32;
+    private static final String EMAIL = "payment-benchmark@example.com";
+    @Autowired
+    private PaymentService paymentService;
+    @Autowired
+    private PaymentWebhookService paymentWebhookService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Value("${stripe.webhook.secret}")
+    private String webhookSecret;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM payment_webhook_events "
+                + "WHERE event_id LIKE 'evt_payment_benchmark_%'");
+        jdbcTemplate.update("DELETE o FROM outbox_events o "
+                + "JOIN payments p ON p.id = o.aggregate_id "
+                + "JOIN rentals r ON r.id = p.rental_id JOIN users u ON u.id = r.user_id "
+                + "WHERE o.event_type = 'PAYMENT_SUCCEEDED' AND u.email = ?", EMAIL);
+        jdbcTemplate.update("DELETE p FROM payments p JOIN rentals r ON r.id = p.rental_id "
+                + "JOIN users u ON u.id = r.user_id WHERE u.email = ?", EMAIL);
+        jdbcTemplate.update("DELETE r FROM rentals r JOIN users u ON u.id = r.user_id "
+                + "WHERE u.email = ?", EMAIL);
+        jdbcTemplate.update("DELETE FROM users WHERE email = ?", EMAIL);
+        jdbcTemplate.update("DELETE FROM cars WHERE brand = 'PaymentBenchmark'");
+    }
+
+    @Test
+    public void measurePaymentSessionThroughputAndTailLatency() throws Exception {
+        jdbcTemplate.update("INSERT INTO users (email, password, first_name, last_name, "
+                + "is_deleted) VALUES (?, 'hashedPassword', 'John', 'Doe', false)", EMAIL);
+        jdbcTemplate.update("INSERT INTO cars (brand, model, type, inventory, daily_fee, "
+                + "is_deleted) VALUES ('PaymentBenchmark', 'Payment model', 'SEDAN', 10, "
+                + "50.00, false)");
+        final long userId = jdbcTemplate.queryForObject(
+                "SELECT id FROM users WHERE email = ?", Long.class, EMAIL);
+        final long carId = jdbcTemplate.queryForObject(
+                "SELECT id FROM cars WHERE brand = 'PaymentBenchmark'", Long.class);
+        jdbcTemplate.execute("SET SESSION cte_max_recursion_depth = " + RENTALS);
+        jdbcTemplate.update("INSERT INTO rentals (rental_date, return_date, actual_return_date, "
+                + "car_id, user_id) WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL "
+                + "SELECT n + 1 FROM seq WHERE n < " + RENTALS + ") "
+                + "SELECT DATE '2024-01-01', DATE '2024-01-08', DATE '2024-01-05', ?, ? FROM seq",
+                carId, userId);
+        List<Long> rentalIds = jdbcTemplate.queryForList(
+                "SELECT id FROM rentals WHERE user_id = ? ORDER BY id", Long.class, userId);
+        User user = new User().setId(userId);
+
+        List<String> sessionIds = new ArrayList<>();
+        long[] createLatencies = run("createPaymentSession", rentalIds.size(), i -> {
+            String sessionId = paymentService.createPaymentSession(
+                    new MakePaymentRequestDto().setRentalId(rentalIds.get((int) i)), user,
+                    "payment-benchmark-" + i).getSessionId();
+            synchronized (sessionIds) {
+                sessionIds.add(sessionId);
+            }
+            return sessionId;
+        });
+        long[] webhookLatencies = run("PaymentWebhookService.handleEvent", sessionIds.size(),
+                i -> {
+                    String payload = "{\"id\":\"evt_payment_benchmark_" + i + "\","
+                            + "\"type\":\"checkout.session.completed\",\"data\":{\"object\":"
+                            + "{\"id\":\"" + sessionIds.get((int) i) + "\","
+                            + "\"payment_status\":\"paid\"}}}";
+                    paymentWebhookService.handleEvent(payload, sign(payload));
+                    return null;
+                });
+
+        Assertions.assertEquals(RENTALS, createLatencies.length);
+        Assertions.assertEquals(RENTALS, webhookLatencies.length);
+        Assertions.assertEquals(RENTALS, jdbcTemplate.queryForObject("SELECT COUNT(*) "
+                + "FROM payments p JOIN rentals r ON r.id = p.rental_id "
+                + "WHERE r.user_id = ? AND p.payment_status = 'PAID'", Integer.class, userId));
+    }
+
+    private String sign(String payload) {
+        long timestamp = Instant.now().getEpochSecond();
+        try {
+            return "t=" + timestamp + ",v1="
+                    + Webhook.Util.computeHmacSha256(webhookSecret, timestamp + "." + payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Can't sign webhook payload", e);
+        }
+    }
+
+    private long[] run(String method, int calls, LongFunction<Object> call) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<Long>> futures = new ArrayList<>(calls);
+        long start = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            final long index = i;
+            futures.add(executor.submit(() -> {
+                long callStart = System.nanoTime();
+                call.apply(index);
+                return System.nanoTime() - callStart;
+            }));
+        }
+        long[] latencies = new long[calls];
+        for (int i = 0; i < calls; i++) {
+            latencies[i] = futures.get(i).get();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        executor.shutdown();
+
+        Arrays.sort(latencies);
+        log.info("{}: {} calls on {} threads, {} calls/s, p50 {} ms, p99 {} ms, max {} ms",
+                method, calls, THREADS, calls * TimeUnit.SECONDS.toNanos(1) / elapsedNanos,
+                TimeUnit.NANOSECONDS.toMillis(latencies[calls / 2]),
+                TimeUnit.NANOSECONDS.toMillis(latencies[(int) (calls * 0.99)]),
+                TimeUnit.NANOSECONDS.toMillis(latencies[calls - 1]));
+        return latencies;
+    }
+}
@@ -0,0 +1,56 @@
+package project.carsharingservice.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import project.carsharingservice.model.Car;
+import project.carsharingservice.model.Rental;
+import project.carsharingservice.service.payment.RentalPriceCalculator;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RentalPriceCalculatorBenchmark {
+    private Rental returnedOnTime;
+    private Rental returnedLate;
+
+    @Setup
+    public void setUp() {
+        Car car = new Car()
+                .setId(1L)
+                .setDailyFee(new BigDecimal("49.99"));
+        returnedOnTime = new Rental()
+                .setRentalDate(LocalDate.of(2024, 1, 1))
+                .setReturnDate(LocalDate.of(2024, 1, 8))
+                .setActualReturnDate(LocalDate.of(2024, 1, 7))
+                .setCar(car);
+        returnedLate = new Rental()
+                .setRentalDate(LocalDate.of(2024, 1, 1))
+                .setReturnDate(LocalDate.of(2024, 1, 8))
+                .setActualReturnDate(LocalDate.of(2024, 1, 10))
+                .setCar(car);
+    }
+
+    @Benchmark
+    public BigDecimal calculateTotalPriceReturnedOnTime() {
+        return RentalPriceCalculator.calculateTotalPrice(returnedOnTime);
+    }
+
+    @Benchmark
+    public BigDecimal calculateTotalPriceReturnedLate() {
+        return RentalPriceCalculator.calculateTotalPrice(returnedLate);
+    }
+}
@@ -0,0 +1,198 @@
+package project.carsharingservice.benchmark;
+
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import project.carsharingservice.config.CustomMySqlContainer;
+import project.carsharingservice.repository.PaymentRepository;
+import project.carsharingservice.repository.RentalRepository;
+import project.carsharingservice.repository.specification.RentalSpecifications;
+
+@Log4j2
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class RepositoryIndexBenchmark {
+    private static final int USERS = 10_000;
+    private static final int CARS = 100;
+    private static final int RENTALS = 1_000_000;
+    private static final int WARMUP_ITERATIONS = 20;
+    private static final int MEASUREMENT_ITERATIONS = 200;
+    private static final String[] DROP_INDEXES = {
+            "ALTER TABLE payments DROP FOREIGN KEY fk_payments_rentals, "
+                    + "DROP INDEX idx_payments_rental_id_payment_status",
+            "ALTER TABLE rentals DROP FOREIGN KEY fk_rentals_users, "
+                    + "DROP FOREIGN KEY fk_rentals_cars, "
+                    + "DROP INDEX idx_rentals_user_id_actual_return_date, "
+                    + "DROP INDEX idx_rentals_car_id, "
+                    + "DROP INDEX idx_rentals_actual_return_date_return_date"
+    };
+    private static final String[] CREATE_INDEXES = {
+            "ALTER TABLE rentals "
+                    + "ADD INDEX idx_rentals_user_id_actual_return_date "
+                    + "(user_id, actual_return_date), "
+                    + "ADD INDEX idx_rentals_car_id (car_id), "
+                    + "ADD INDEX idx_rentals_actual_return_date_return_date "
+                    + "(actual_return_date, return_date), "
+                    + "ADD CONSTRAINT fk_rentals_users FOREIGN KEY (user_id) "
+                    + "REFERENCES users (id), "
+                    + "ADD CONSTRAINT fk_rentals_cars FOREIGN KEY (car_id) REFERENCES cars (id)",
+            "ALTER TABLE payments "
+                    + "ADD INDEX idx_payments_rental_id_payment_status "
+                    + "(rental_id, payment_status), "
+                    + "ADD CONSTRAINT fk_payments_rentals FOREIGN KEY (rental_id) "
+                    + "REFERENCES rentals (id)",
+            "ANALYZE TABLE rentals, payments"
+    };
+    private static final String[] SEED_DATA = {
+            "SET SESSION cte_max_recursion_depth = " + RENTALS,
+            "INSERT INTO users (email, password, first_name, last_name, is_deleted) "
+                    + "WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq "
+                    + "WHERE n < " + USERS + ") "
+                    + "SELECT CONCAT('benchmark', n, '@example.com'), 'hashedPassword', "
+                    + "'John', 'Doe', false FROM seq",
+            "INSERT INTO cars (brand, model, type, inventory, daily_fee, is_deleted) "
+                    + "WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq "
+                    + "WHERE n < " + CARS + ") "
+                    + "SELECT 'Benchmark', CONCAT('Model ', n), 'SEDAN', 10, 50.00, false FROM seq",
+            "INSERT INTO rentals (rental_date, return_date, actual_return_date, car_id, user_id) "
+                    + "WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq "
+                    + "WHERE n < " + RENTALS + ") "
+                    + "SELECT DATE '2020-01-01' + INTERVAL (n % 1500) DAY, "
+                    + "DATE '2020-01-08' + INTERVAL (n % 1500) DAY, "
+                    + "IF(n % 10 = 0, NULL, DATE '2020-01-08' + INTERVAL (n % 1500) DAY), "
+                    + "(SELECT MIN(id) FROM cars) + n % " + CARS + ", "
+                    + "(SELECT MIN(id) FROM users) + n % " + USERS + " FROM seq",
+            "INSERT INTO payments (rental_id, payment_status, payment_type, session_url, "
+                    + "session_id, total_price) "
+                    + "SELECT id, IF(id % 4 = 0, 'PAID', 'PENDING'), 'PAYMENT', "
+                    + "'http://model.url', CONCAT('cs_', id), 350.00 FROM rentals WHERE id % 2 = 0"
+    };
+    @Autowired
+    private RentalRepository rentalRepository;
+    @Autowired
+    private PaymentRepository paymentRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void dataSourceProperties(DynamicPropertyRegistry registry) {
+        CustomMySqlContainer container = CustomMySqlContainer.getInstance();
+        container.start();
+        registry.add("spring.datasource.url", container::getJdbcUrl);
+        registry.add("spring.datasource.username", container::getUsername);
+        registry.add("spring.datasource.password", container::getPassword);
+    }
+
+    @AfterAll
+    static void afterAll(@Autowired JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET FOREIGN_KEY_CHECKS = 0");
+                for (String table : new String[]{"payments", "rentals", "cars", "users"}) {
+                    statement.execute("TRUNCATE TABLE " + table);
+                }
+                statement.execute("SET FOREIGN_KEY_CHECKS = 1");
+            }
+            return null;
+        });
+    }
+
+    @Test
+    public void measureRepositoryMethodsWithAndWithoutIndexes() {
+        executeInOneSession(DROP_INDEXES);
+        long start = System.nanoTime();
+        executeInOneSession(SEED_DATA);
+        log.info("Seeded {} rentals in {} s", RENTALS,
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+
+        long firstUserId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM users", Long.class);
+        long firstRentalId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM rentals",
+                Long.class);
+        Map<String, double[]> withoutIndexes = measure(firstUserId, firstRentalId);
+
+        executeInOneSession(CREATE_INDEXES);
+        Map<String, double[]> withIndexes = measure(firstUserId, firstRentalId);
+
+        StringBuilder report = new StringBuilder(String.format("%n%-52s %22s %22s%n",
+                "method (avg / p95, ms)", "without indexes", "with indexes"));
+        withoutIndexes.forEach((method, before) -> {
+            double[] after = withIndexes.get(method);
+            report.append(String.format("%-52s %10.3f / %9.3f %10.3f / %9.3f%n",
+                    method, before[0], before[1], after[0], after[1]));
+        });
+        log.info(report);
+    }
+
+    private Map<String, double[]> measure(long firstUserId, long firstRentalId) {
+        LocalDate today = LocalDate.of(2024, 1, 1);
+        Map<String, double[]> results = new LinkedHashMap<>();
+        results.put("RentalRepository.findAllByUserId", measure(random ->
+                rentalRepository.findAllByUserId(firstUserId + random.nextInt(USERS))));
+        results.put("RentalRepository.findRentalByIdAndUserId", measure(random -> {
+            long offset = random.nextInt(RENTALS);
+            rentalRepository.findRentalByIdAndUserId(firstRentalId + offset,
+                    firstUserId + (offset + 1) % USERS);
+        }));
+        results.put("RentalRepository.findAll(userId, isActive)", measure(random ->
+                rentalRepository.findAll(Specification
+                        .where(RentalSpecifications.hasUserId(
+                                firstUserId + random.nextInt(USERS)))
+                        .and(RentalSpecifications.isActive(true)), PageRequest.of(0, 20))));
+        results.put("RentalRepository.findOverdueRentals", measure(random ->
+                rentalRepository.findOverdueRentals(today, PageRequest.of(0, 500))));
+        results.put("PaymentRepository.findAllByUserId", measure(random ->
+                paymentRepository.findAllByUserId(firstUserId + random.nextInt(USERS))));
+        results.put("PaymentRepository.findSuccessfulPaymentByRentalId", measure(random ->
+                paymentRepository.findSuccessfulPaymentByRentalId(
+                        firstRentalId + random.nextInt(RENTALS))));
+        return results;
+    }
+
+    private double[] measure(Consumer<ThreadLocalRandom> call) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            call.accept(random);
+        }
+        long[] latencies = new long[MEASUREMENT_ITERATIONS];
+        for (int i = 0; i < MEASUREMENT_ITERATIONS; i++) {
+            long start = System.nanoTime();
+            call.accept(random);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        double average = Arrays.stream(latencies).average().orElse(0) / 1_000_000;
+        double p95 = latencies[(int) (MEASUREMENT_ITERATIONS * 0.95)] / 1_000_000.0;
+        return new double[]{average, p95};
+    }
+
+    private void executeInOneSession(String[] statements) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                for (String sql : statements) {
+                    statement.execute(sql);
+                }
+            }
+            return null;
+        });
+    }
+}
@@ -0,0 +1,175 @@
+package project.carsharingservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@Log4j2
+public class WebTierThreadingBenchmark {
+    private static final int WARMUP_REQUESTS = 500;
+    private static final int REQUESTS = 5_000;
+    private static final int CONCURRENCY = 400;
+    private static final String EMAIL = "web-benchmark@example.com";
+    private static final String PASSWORD = "Benchmark1234@";
+    private static final Map<String, String> RESULTS = new ConcurrentSkipListMap<>();
+
+    @AfterAll
+    static void report() {
+        StringBuilder report = new StringBuilder(String.format("%n%-40s %12s %10s %10s%n",
+                "endpoint / threads", "requests/s", "p50, ms", "p99, ms"));
+        RESULTS.forEach((name, result) -> report.append(String.format("%-40s %s%n",
+                name, result)));
+        log.info(report);
+    }
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+    class PlatformThreads extends LoadTest {
+        PlatformThreads() {
+            super("platform");
+        }
+    }
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+    @ActiveProfiles("virtual-threads")
+    class VirtualThreads extends LoadTest {
+        VirtualThreads() {
+            super("virtual");
+        }
+    }
+
+    abstract static class LoadTest {
+        private final String threads;
+        private final HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        private final ObjectMapper objectMapper = new ObjectMapper();
+        @LocalServerPort
+        private int port;
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        LoadTest(String threads) {
+            this.threads = threads;
+        }
+
+        @AfterEach
+        void tearDown() {
+            jdbcTemplate.update("DELETE o FROM outbox_events o "
+                    + "JOIN rentals r ON r.id = o.aggregate_id JOIN users u ON u.id = r.user_id "
+                    + "WHERE o.event_type = 'RENTAL_CREATED' AND u.email = ?", EMAIL);
+            jdbcTemplate.update("DELETE r FROM rentals r JOIN users u ON u.id = r.user_id "
+                    + "WHERE u.email = ?", EMAIL);
+            jdbcTemplate.update("DELETE ur FROM users_roles ur JOIN users u ON u.id = ur.user_id "
+                    + "WHERE u.email = ?", EMAIL);
+            jdbcTemplate.update("DELETE FROM users WHERE email = ?", EMAIL);
+            jdbcTemplate.update("DELETE FROM cars WHERE brand = 'WebBenchmark'");
+        }
+
+        @Test
+        public void measureThroughputAndTailLatency() throws Exception {
+            jdbcTemplate.update("INSERT INTO cars (brand, model, type, inventory, daily_fee, "
+                    + "is_deleted) VALUES ('WebBenchmark', 'Web model', 'SEDAN', ?, 50.00, "
+                    + "false)", 2 * (WARMUP_REQUESTS + REQUESTS));
+            final long carId = jdbcTemplate.queryForObject(
+                    "SELECT id FROM cars WHERE brand = 'WebBenchmark'", Long.class);
+            String token = registerAndLogin();
+
+            IntFunction<HttpRequest> listCars = i -> request("/cars?page=" + i % 10 + "&size=20")
+                    .GET()
+                    .build();
+            IntFunction<HttpRequest> createRental = i -> request("/rentals")
+                    .header("Authorization", "Bearer " + token)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"numberOfDays\":7,\"carId\":" + carId + "}"))
+                    .build();
+
+            run(listCars, WARMUP_REQUESTS);
+            run(createRental, WARMUP_REQUESTS);
+            RESULTS.put("GET /cars, " + threads, run(listCars, REQUESTS));
+            RESULTS.put("POST /rentals, " + threads, run(createRental, REQUESTS));
+        }
+
+        private String registerAndLogin() throws Exception {
+            HttpResponse<String> registration = httpClient.send(request("/auth/registration")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(
+                            Map.of("email", EMAIL, "password", PASSWORD,
+                                    "repeatPassword", PASSWORD,
+                                    "firstName", "John", "lastName", "Doe"))))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            Assertions.assertEquals(200, registration.statusCode(), registration.body());
+            HttpResponse<String> login = httpClient.send(request("/auth/login")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(
+                            Map.of("email", EMAIL, "password", PASSWORD))))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            Assertions.assertEquals(200, login.statusCode(), login.body());
+            return objectMapper.readTree(login.body()).get("token").asText();
+        }
+
+        private HttpRequest.Builder request(String path) {
+            return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+        }
+
+        private String run(IntFunction<HttpRequest> request, int requests) throws Exception {
+            Semaphore inFlight = new Semaphore(CONCURRENCY);
+            List<Future<Long>> futures = new ArrayList<>(requests);
+            long start = System.nanoTime();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < requests; i++) {
+                    final HttpRequest httpRequest = request.apply(i);
+                    inFlight.acquire();
+                    futures.add(executor.submit(() -> {
+                        try {
+                            long requestStart = System.nanoTime();
+                            HttpResponse<Void> response = httpClient.send(httpRequest,
+                                    HttpResponse.BodyHandlers.discarding());
+                            Assertions.assertTrue(response.statusCode() < 300,
+                                    "Unexpected status " + response.statusCode());
+                            return System.nanoTime() - requestStart;
+                        } finally {
+                            inFlight.release();
+                        }
+                    }));
+                }
+            }
+            long elapsedNanos = System.nanoTime() - start;
+            long[] latencies = new long[requests];
+            for (int i = 0; i < requests; i++) {
+                latencies[i] = futures.get(i).get();
+            }
+            Arrays.sort(latencies);
+            return String.format("%12d %10d %10d",
+                    requests * TimeUnit.SECONDS.toNanos(1) / elapsedNanos,
+                    TimeUnit.NANOSECONDS.toMillis(latencies[requests / 2]),
+                    TimeUnit.NANOSECONDS.toMillis(latencies[(int) (requests * 0.99)]));
+        }
+    }
+}
@@ -6,6 +6,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static project.carsharingservice.monitoring.SqlStatementBudgetMatchers.withinSqlStatementBudget;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -18,6 +19,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.jdbc.Sql;
@@ -29,6 +31,7 @@ import project.carsharingservice.dto.car.AddNewCarRequestDto;
 import project.carsharingservice.dto.car.CarDto;
 import project.carsharingservice.dto.car.UpdateCarInfoRequestDto;
 import project.carsharingservice.model.Car;
+import project.carsharingservice.monitoring.SqlMonitoringFilter;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @Sql(scripts = "classpath:database/cars/delete-cars-from-the-cars-table.sql",
@@ -40,11 +43,13 @@ public class CarControllerTest {
 
     @BeforeAll
     static void beforeAll(
-            @Autowired WebApplicationContext webApplicationContext
+            @Autowired WebApplicationContext webApplicationContext,
+            @Autowired SqlMonitoringFilter sqlMonitoringFilter
     ) {
         mockMvc = MockMvcBuilders
                 .webAppContextSetup(webApplicationContext)
                 .apply(springSecurity())
+                .addFilters(sqlMonitoringFilter)
                 .build();
     }
 
@@ -76,6 +81,7 @@ public class CarControllerTest {
                         .param("size", "10")
                 )
                 .andExpect(status().isOk())
+                .andExpect(withinSqlStatementBudget())
                 .andReturn();
 
         //then
@@ -88,6 +94,34 @@ public class CarControllerTest {
         EqualsBuilder.reflectionEquals(expectedCarDtoList.get(1), actualCarDtoList.get(1));
     }
 
+    @Test
+    @DisplayName("Search cars by type, daily fee range and availability")
+    @Sql(scripts = "classpath:database/cars/add-cars-to-the-cars-table.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = "classpath:database/cars/delete-cars-from-the-cars-table.sql",
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    public void searchCars_ValidParameters_Success() throws Exception {
+        //when
+        MvcResult mvcResult = mockMvc.perform(get("/cars/search")
+                        .param("type", "sedan")
+                        .param("minDailyFee", "100")
+                        .param("maxDailyFee", "200")
+                        .param("isAvailable", "true")
+                        .param("sort", "dailyFee,asc")
+                )
+                .andExpect(status().isOk())
+                .andExpect(withinSqlStatementBudget())
+                .andReturn();
+
+        //then
+        List<CarDto> actualCarDtoList = objectMapper.readValue(
+                mvcResult.getResponse().getContentAsString(),
+                new TypeReference<List<CarDto>>() {});
+
+        Assertions.assertEquals(1, actualCarDtoList.size());
+        Assertions.assertEquals(2L, actualCarDtoList.get(0).getId());
+    }
+
     @Test
     @DisplayName("Get a car by id")
     @Sql(scripts = "classpath:database/cars/add-cars-to-the-cars-table.sql",
@@ -109,6 +143,7 @@ public class CarControllerTest {
         //when
         MvcResult mvcResult = mockMvc.perform(get("/cars/{carId}", carId))
                 .andExpect(status().isOk())
+                .andExpect(withinSqlStatementBudget())
                 .andReturn();
 
         //then
@@ -120,6 +155,34 @@ public class CarControllerTest {
         EqualsBuilder.reflectionEquals(expectedCarDto, actualCarDto);
     }
 
+    @Test
+    @DisplayName("Get a car by id with matching ETag returns not modified")
+    @Sql(scripts = "classpath:database/cars/add-cars-to-the-cars-table.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = "classpath:database/cars/delete-cars-from-the-cars-table.sql",
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    public void getCarById_MatchingETag_NotModified() throws Exception {
+        //given
+        long carId = 2L;
+        String etag = mockMvc.perform(get("/cars/{carId}", carId))
+                .andExpect(status().isOk())
+                .andExpect(withinSqlStatementBudget())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        //when
+        MvcResult mvcResult = mockMvc.perform(get("/cars/{carId}", carId)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(withinSqlStatementBudget())
+                .andReturn();
+
+        //then
+        Assertions.assertNotNull(etag);
+        Assertions.assertEquals("", mvcResult.getResponse().getContentAsString());
+    }
+
     @WithMockUser(username = "admin@example.com", roles = "MANAGER")
     @Test
     @DisplayName("Create a new car")
@@ -151,6 +214,7 @@ public class CarControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                 )
                 .andExpect(status().isOk())
+                .andExpect(withinSqlStatementBudget())
                 .andReturn();
 
         //then
@@ -194,6 +258,7 @@ public class CarControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                 )
                 .andExpect(status().isOk())
+                .andExpect(withinSqlStatementBudget())
                 .andReturn();
 
         //then
@@ -219,6 +284,7 @@ public class CarControllerTest {
         //when
         MvcResult mvcResult = mockMvc.perform(delete("/cars/{carId}", carId))
                 .andExpect(status().isNoContent())
+                .andExpect(withinSqlStatementBudget())
                 .andReturn();
     }
 }
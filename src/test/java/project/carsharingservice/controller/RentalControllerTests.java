@@ -4,6 +4,7 @@ import static org.springframework.security.test.web.servlet.setup.SecurityMockMv
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static project.carsharingservice.monitoring.SqlStatementBudgetMatchers.withinSqlStatementBudget;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -28,6 +29,7 @@ import project.carsharingservice.dto.car.RentedCarDto;
 import project.carsharingservice.dto.rental.CreateRentalRequestDto;
 import project.carsharingservice.dto.rental.RentalDto;
 import project.carsharingservice.model.Car;
+import project.carsharingservice.monitoring.SqlMonitoringFilter;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @Sql(scripts = {"classpath:database/rentals/delete-rentals-from-the-rentals-table.sql",
@@ -48,11 +50,13 @@ public class RentalControllerTests {
 
     @BeforeAll
     static void beforeAll(
-            @Autowired WebApplicationContext webApplicationContext
+            @Autowired WebApplicationContext webApplicationContext,
+            @Autowired SqlMonitoringFilter sqlMonitoringFilter
     ) {
         mockMvc = MockMvcBuilders
                 .webAppContextSetup(webApplicationContext)
                 .apply(springSecurity())
+                .addFilters(sqlMonitoringFilter)
                 .build();
     }
 
@@ -85,6 +89,7 @@ public class RentalControllerTests {
                         .param("isActive", "false")
                 )
                 .andExpect(status().isOk())
+                .andExpect(withinSqlStatementBudget())
                 .andReturn();
 
         MvcResult mvcResult2 = mockMvc.perform(get("/rentals")
@@ -92,6 +97,7 @@ public class RentalControllerTests {
                         .param("isActive", "true")
                 )
                 .andExpect(status().isOk())
+                .andExpect(withinSqlStatementBudget())
                 .andReturn();
 
         //then
@@ -131,6 +137,7 @@ public class RentalControllerTests {
         //when
         MvcResult mvcResult = mockMvc.perform(get("/rentals/{rentalId}", rentalId))
                 .andExpect(status().isOk())
+                .andExpect(withinSqlStatementBudget())
                 .andReturn();
 
         //then
@@ -174,6 +181,7 @@ public class RentalControllerTests {
                         .contentType(MediaType.APPLICATION_JSON)
                 )
                 .andExpect(status().isOk())
+                .andExpect(withinSqlStatementBudget())
                 .andReturn();
 
         //then
@@ -195,6 +203,7 @@ public class RentalControllerTests {
         //when
         MvcResult mvcResult = mockMvc.perform(post("/rentals/{rentalId}/return", rentalId))
                 .andExpect(status().isOk())
+                .andExpect(withinSqlStatementBudget())
                 .andReturn();
 
         //then
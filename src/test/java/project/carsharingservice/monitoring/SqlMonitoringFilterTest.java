@@ -0,0 +1,106 @@
+package project.carsharingservice.monitoring;
+
+import jakarta.servlet.FilterChain;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+public class SqlMonitoringFilterTest {
+    private final AtomicReference<SqlRequestContext> contextInChain = new AtomicReference<>();
+    private final FilterChain filterChain = (request, response) ->
+            contextInChain.set(SqlRequestContext.current());
+
+    @Test
+    @DisplayName("Verify doFilter() opens a SQL context for a sampled request and closes it")
+    public void doFilter_SampledRequest_OpensAndClosesContext() throws Exception {
+        //given
+        SqlMonitoringFilter filter = createFilter(1.0);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/cars");
+
+        //when
+        filter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        //then
+        Assertions.assertNotNull(contextInChain.get());
+        Assertions.assertSame(contextInChain.get(),
+                request.getAttribute(SqlRequestContext.ATTRIBUTE));
+        Assertions.assertEquals("GET /cars", contextInChain.get().getRequest());
+        Assertions.assertTrue(contextInChain.get().isSlow(Duration.ofMillis(200).toNanos()));
+        Assertions.assertFalse(contextInChain.get().isSlow(Duration.ofMillis(199).toNanos()));
+        Assertions.assertNull(SqlRequestContext.current());
+    }
+
+    @Test
+    @DisplayName("Verify doFilter() does not log slow queries of a request that is not sampled")
+    public void doFilter_NotSampledRequest_DoesNotReportSlowQueries() throws Exception {
+        //given
+        SqlMonitoringFilter filter = createFilter(0.0);
+
+        //when
+        filter.doFilter(new MockHttpServletRequest("GET", "/cars"),
+                new MockHttpServletResponse(), filterChain);
+
+        //then
+        Assertions.assertNotNull(contextInChain.get());
+        Assertions.assertFalse(contextInChain.get().isSlow(Duration.ofSeconds(1).toNanos()));
+    }
+
+    @Test
+    @DisplayName("Verify doFilter() counts statements executed while handling the request")
+    public void doFilter_StatementsExecuted_CountsStatements() throws Exception {
+        //given
+        SqlMonitoringFilter filter = createFilter(0.0);
+        SlowQueryLogger slowQueryLogger = new SlowQueryLogger();
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/rentals");
+        FilterChain executingChain = (servletRequest, servletResponse) -> {
+            slowQueryLogger.jdbcExecuteStatementStart();
+            slowQueryLogger.jdbcExecuteStatementEnd();
+            slowQueryLogger.jdbcExecuteBatchStart();
+            slowQueryLogger.jdbcExecuteBatchEnd();
+        };
+
+        //when
+        filter.doFilter(request, new MockHttpServletResponse(), executingChain);
+
+        //then
+        SqlRequestContext context = (SqlRequestContext) request
+                .getAttribute(SqlRequestContext.ATTRIBUTE);
+        Assertions.assertEquals(2, context.getStatementCount());
+        Assertions.assertFalse(context.getExecutionTime().isNegative());
+    }
+
+    @Test
+    @DisplayName("Verify doFilter() does not count statements excluded from the budget")
+    public void doFilter_StatementsExcludedFromBudget_NotCounted() throws Exception {
+        //given
+        SqlMonitoringFilter filter = createFilter(0.0);
+        SlowQueryLogger slowQueryLogger = new SlowQueryLogger();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/rentals");
+        FilterChain executingChain = (servletRequest, servletResponse) -> {
+            SqlRequestContext.excludeFromBudget(() -> {
+                slowQueryLogger.jdbcExecuteStatementStart();
+                slowQueryLogger.jdbcExecuteStatementEnd();
+                return null;
+            });
+            slowQueryLogger.jdbcExecuteStatementStart();
+            slowQueryLogger.jdbcExecuteStatementEnd();
+        };
+
+        //when
+        filter.doFilter(request, new MockHttpServletResponse(), executingChain);
+
+        //then
+        SqlRequestContext context = (SqlRequestContext) request
+                .getAttribute(SqlRequestContext.ATTRIBUTE);
+        Assertions.assertEquals(1, context.getStatementCount());
+    }
+
+    private SqlMonitoringFilter createFilter(double sampleRate) {
+        return new SqlMonitoringFilter(sampleRate, Duration.ofMillis(200), 10,
+                Duration.ofMillis(500));
+    }
+}
@@ -0,0 +1,27 @@
+package project.carsharingservice.monitoring;
+
+import org.junit.jupiter.api.Assertions;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.web.method.HandlerMethod;
+
+public final class SqlStatementBudgetMatchers {
+    private SqlStatementBudgetMatchers() {
+    }
+
+    public static ResultMatcher withinSqlStatementBudget() {
+        return result -> {
+            SqlRequestContext context = (SqlRequestContext) result.getRequest()
+                    .getAttribute(SqlRequestContext.ATTRIBUTE);
+            Assertions.assertNotNull(context, "SqlMonitoringFilter was not applied to the request");
+            String handlerName = SqlMonitoringFilter.getHandlerName(result.getHandler());
+            SqlStatementBudget budget = result.getHandler() instanceof HandlerMethod handlerMethod
+                    ? handlerMethod.getMethodAnnotation(SqlStatementBudget.class)
+                    : null;
+            Assertions.assertNotNull(budget, handlerName + " does not declare @SqlStatementBudget");
+            Assertions.assertTrue(context.getStatementCount() <= budget.value(),
+                    context.getRequest() + " handled by " + handlerName + " executed "
+                            + context.getStatementCount() + " SQL statements, budget is "
+                            + budget.value());
+        };
+    }
+}
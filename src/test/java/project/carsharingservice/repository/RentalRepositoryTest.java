@@ -0,0 +1,114 @@
+package project.carsharingservice.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.jdbc.Sql;
+import project.carsharingservice.dto.rental.RentalDto;
+import project.carsharingservice.dto.rental.RentalDtoWithoutCarInfo;
+import project.carsharingservice.mapper.RentalMapper;
+import project.carsharingservice.mapper.impl.CarMapperImpl;
+import project.carsharingservice.mapper.impl.RentalMapperImpl;
+import project.carsharingservice.model.Rental;
+import project.carsharingservice.repository.specification.RentalSpecifications;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({RentalMapperImpl.class, CarMapperImpl.class})
+@Sql(scripts = {"classpath:database/payments/delete-payments-from-the-payments-table.sql",
+        "classpath:database/rentals/delete-rentals-from-the-rentals-table.sql",
+        "classpath:database/cars/delete-cars-from-the-cars-table.sql",
+        "classpath:database/users/delete-users-from-the-users-table.sql",
+        "classpath:database/users/add-users-to-the-users-table.sql",
+        "classpath:database/cars/add-cars-to-the-cars-table.sql",
+        "classpath:database/rentals/add-rentals-to-the-rentals-table.sql"},
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+@Sql(scripts = {"classpath:database/rentals/delete-rentals-from-the-rentals-table.sql",
+        "classpath:database/cars/delete-cars-from-the-cars-table.sql",
+        "classpath:database/users/delete-users-from-the-users-table.sql"},
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_CLASS)
+public class RentalRepositoryTest {
+    @Autowired
+    private RentalRepository rentalRepository;
+    @Autowired
+    private RentalMapper rentalMapper;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Verify rentals listing is mapped to dtos with a single statement")
+    void findAll_RentalsOfUserMappedToDtos_ExecutesOneStatement() {
+        //given
+        Specification<Rental> spec = Specification
+                .where(RentalSpecifications.hasUserId(1L));
+
+        //when
+        List<RentalDtoWithoutCarInfo> rentals = rentalRepository
+                .findAll(spec, PageRequest.of(0, 10)).stream()
+                .map(rentalMapper::entityRentalDtoWithoutCarInfo)
+                .toList();
+
+        //then
+        Assertions.assertEquals(2, rentals.size());
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Verify findAllByUserId() result is mapped to dtos with a single statement")
+    void findAllByUserId_UserWithId1_ExecutesOneStatement() {
+        //when
+        List<RentalDtoWithoutCarInfo> rentals = rentalRepository.findAllByUserId(1L).stream()
+                .map(rentalMapper::entityRentalDtoWithoutCarInfo)
+                .toList();
+
+        //then
+        Assertions.assertEquals(2, rentals.size());
+        Assertions.assertEquals(1L, rentals.get(0).getUserId());
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Verify findRentalByIdAndUserId() fetches rental with car in one statement")
+    void findRentalByIdAndUserId_ValidIds_ExecutesOneStatement() {
+        //when
+        RentalDto rentalDto = rentalRepository.findRentalByIdAndUserId(1L, 1L)
+                .map(rentalMapper::entityToRentalDto)
+                .orElseThrow();
+
+        //then
+        Assertions.assertEquals(2L, rentalDto.getRentedCarDto().getId());
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Verify findById() fetches rental with car in one statement")
+    void findById_ValidId_ExecutesOneStatement() {
+        //when
+        RentalDto rentalDto = rentalRepository.findById(2L)
+                .map(rentalMapper::entityToRentalDto)
+                .orElseThrow();
+
+        //then
+        Assertions.assertEquals(1L, rentalDto.getRentedCarDto().getId());
+        Assertions.assertEquals(2L, rentalDto.getUserId());
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,94 @@
+package project.carsharingservice.security;
+
+import static org.mockito.Mockito.times;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Optional;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import project.carsharingservice.model.User;
+import project.carsharingservice.repository.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class CustomUserDetailsServiceTest {
+    private static final String EMAIL = "user@example.com";
+    @Mock
+    private UserRepository userRepository;
+    private UserPrincipalCache userPrincipalCache;
+    private CustomUserDetailsService customUserDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        userPrincipalCache = new UserPrincipalCache(
+                100, Duration.ofMinutes(5), new SimpleMeterRegistry());
+        customUserDetailsService = new CustomUserDetailsService(
+                userRepository, userPrincipalCache);
+    }
+
+    @Test
+    @DisplayName("Verify loadUserByUsername() hits the database once for repeated calls")
+    public void loadUserByUsername_RepeatedCalls_LoadsUserOnce() {
+        //given
+        User user = new User().setId(2L).setEmail(EMAIL);
+        Mockito.when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+
+        //when
+        UserDetails firstUserDetails = customUserDetailsService.loadUserByUsername(EMAIL);
+        UserDetails secondUserDetails = customUserDetailsService.loadUserByUsername(EMAIL);
+
+        //then
+        Assertions.assertSame(user, firstUserDetails);
+        Assertions.assertSame(user, secondUserDetails);
+        Assertions.assertEquals(1, userPrincipalCache.getStats().hitCount());
+        Assertions.assertEquals(1, userPrincipalCache.getStats().missCount());
+
+        Mockito.verify(userRepository, times(1)).findByEmail(EMAIL);
+        Mockito.verifyNoMoreInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("Verify loadUserByUsername() reloads user after eviction by user id")
+    public void loadUserByUsername_EvictedByUserId_ReloadsUser() {
+        //given
+        User user = new User().setId(2L).setEmail(EMAIL);
+        Mockito.when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+
+        //when
+        customUserDetailsService.loadUserByUsername(EMAIL);
+        userPrincipalCache.evictByUserId(user.getId());
+        customUserDetailsService.loadUserByUsername(EMAIL);
+
+        //then
+        Mockito.verify(userRepository, times(2)).findByEmail(EMAIL);
+        Mockito.verifyNoMoreInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("Verify loadUserByUsername() throws exception and caches nothing "
+            + "for unknown email")
+    public void loadUserByUsername_UnknownEmail_ThrowsException() {
+        //given
+        Mockito.when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.empty());
+
+        //when
+        Exception exception = Assertions.assertThrows(
+                UsernameNotFoundException.class,
+                () -> customUserDetailsService.loadUserByUsername(EMAIL));
+
+        //then
+        Assertions.assertEquals("Can't find user with email " + EMAIL, exception.getMessage());
+        Assertions.assertThrows(
+                UsernameNotFoundException.class,
+                () -> customUserDetailsService.loadUserByUsername(EMAIL));
+        Mockito.verify(userRepository, times(2)).findByEmail(EMAIL);
+    }
+}
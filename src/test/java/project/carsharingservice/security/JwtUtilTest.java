@@ -0,0 +1,97 @@
+package project.carsharingservice.security;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class JwtUtilTest {
+    private static final String SECRET = "aVeryLongSecretUsedOnlyToSignTokensInJwtUtilUnitTests";
+    private static final String EMAIL = "user@example.com";
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil(SECRET, Duration.ofHours(1).toMillis(), 100);
+    }
+
+    @Test
+    @DisplayName("Verify getValidClaims() evicts and rejects a cached token once it expires")
+    public void getValidClaims_CachedTokenExpired_ThrowsException() throws InterruptedException {
+        //given
+        Date expiration = new Date((System.currentTimeMillis() / 1000 + 2) * 1000);
+        String token = createToken(EMAIL, expiration);
+        Assertions.assertEquals(EMAIL, jwtUtil.getValidClaims(token).getSubject());
+        Assertions.assertTrue(jwtUtil.getCachedTokenExpiry(token).isPresent());
+
+        //when
+        Thread.sleep(Math.max(0, expiration.getTime() - System.currentTimeMillis()) + 100);
+
+        //then
+        Assertions.assertTrue(jwtUtil.getCachedTokenExpiry(token).isEmpty());
+        Exception exception = assertThrows(
+                JwtException.class,
+                () -> jwtUtil.getValidClaims(token)
+        );
+        Assertions.assertEquals("Expired or invalid JWT token", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Verify getValidClaims() rejects a tampered token while the original is cached")
+    public void getValidClaims_TamperedToken_ThrowsException() {
+        //given
+        String token = jwtUtil.generateToken(EMAIL);
+        jwtUtil.getValidClaims(token);
+        String[] parts = token.split("\\.");
+        String tamperedPayload = Jwts.builder()
+                .subject("admin@example.com")
+                .expiration(new Date(System.currentTimeMillis() + Duration.ofHours(1).toMillis()))
+                .compact()
+                .split("\\.")[1];
+        String tamperedToken = parts[0] + "." + tamperedPayload + "." + parts[2];
+
+        //when
+        Exception exception = assertThrows(
+                JwtException.class,
+                () -> jwtUtil.getValidClaims(tamperedToken)
+        );
+
+        //then
+        Assertions.assertEquals("Expired or invalid JWT token", exception.getMessage());
+        Assertions.assertTrue(jwtUtil.getCachedTokenExpiry(tamperedToken).isEmpty());
+        Assertions.assertEquals(EMAIL, jwtUtil.getValidClaims(token).getSubject());
+    }
+
+    @Test
+    @DisplayName("Verify getValidClaims() caches a token until its expiration")
+    public void getValidClaims_ValidToken_CachedUntilExpiration() {
+        //given
+        String token = jwtUtil.generateToken(EMAIL);
+
+        //when
+        Claims claims = jwtUtil.getValidClaims(token);
+
+        //then
+        long millisToExpiration = claims.getExpiration().getTime() - System.currentTimeMillis();
+        Duration cachedExpiry = jwtUtil.getCachedTokenExpiry(token).orElseThrow();
+        Assertions.assertTrue(cachedExpiry.toMillis() <= millisToExpiration + 10);
+        Assertions.assertTrue(cachedExpiry.toMillis() > millisToExpiration - 1000);
+    }
+
+    private String createToken(String email, Date expiration) {
+        return Jwts.builder()
+                .subject(email)
+                .expiration(expiration)
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+}
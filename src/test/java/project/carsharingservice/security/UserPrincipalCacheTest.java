@@ -0,0 +1,116 @@
+package project.carsharingservice.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import project.carsharingservice.model.User;
+import project.carsharingservice.service.event.UserPrincipalChangedEvent;
+
+public class UserPrincipalCacheTest {
+    private static final String EMAIL = "manager@example.com";
+    private AnnotationConfigApplicationContext context;
+    private UserPrincipalCache userPrincipalCache;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        context = new AnnotationConfigApplicationContext(TestConfig.class);
+        userPrincipalCache = context.getBean(UserPrincipalCache.class);
+        transactionTemplate = new TransactionTemplate(
+                context.getBean(PlatformTransactionManager.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    @Test
+    @DisplayName("Verify onUserPrincipalChanged() evicts the principal only after commit")
+    public void onUserPrincipalChanged_InsideTransaction_EvictsAfterCommit() {
+        //given
+        User cachedUser = new User().setId(2L).setEmail(EMAIL);
+        userPrincipalCache.get(EMAIL, email -> cachedUser);
+
+        //when
+        User userBeforeCommit = transactionTemplate.execute(status -> {
+            context.publishEvent(new UserPrincipalChangedEvent(EMAIL));
+            return userPrincipalCache.get(EMAIL, email -> new User().setEmail(email));
+        });
+
+        //then
+        Assertions.assertSame(cachedUser, userBeforeCommit);
+        User reloadedUser = new User().setId(2L).setEmail(EMAIL);
+        Assertions.assertSame(reloadedUser, userPrincipalCache.get(EMAIL, email -> reloadedUser));
+    }
+
+    @Test
+    @DisplayName("Verify onUserPrincipalChanged() keeps the principal when transaction rolls back")
+    public void onUserPrincipalChanged_RolledBack_KeepsPrincipal() {
+        //given
+        User cachedUser = new User().setId(2L).setEmail(EMAIL);
+        userPrincipalCache.get(EMAIL, email -> cachedUser);
+
+        //when
+        transactionTemplate.executeWithoutResult(status -> {
+            context.publishEvent(new UserPrincipalChangedEvent(EMAIL));
+            status.setRollbackOnly();
+        });
+
+        //then
+        Assertions.assertSame(cachedUser,
+                userPrincipalCache.get(EMAIL, email -> new User().setEmail(email)));
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    static class TestConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        UserPrincipalCache userPrincipalCache(MeterRegistry meterRegistry) {
+            return new UserPrincipalCache(100, Duration.ofMinutes(5), meterRegistry);
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager() {
+            return new NoOpTransactionManager();
+        }
+    }
+
+    private static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
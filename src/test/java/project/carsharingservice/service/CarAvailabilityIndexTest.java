@@ -0,0 +1,107 @@
+package project.carsharingservice.service;
+
+import static org.mockito.Mockito.times;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import project.carsharingservice.dto.car.CarAvailabilityDto;
+import project.carsharingservice.model.Car;
+import project.carsharingservice.repository.CarRepository;
+import project.carsharingservice.service.availability.CarAvailabilityIndex;
+import project.carsharingservice.service.event.CarCatalogueChangedEvent;
+import project.carsharingservice.service.event.CarInventoryChangedEvent;
+
+@ExtendWith(MockitoExtension.class)
+public class CarAvailabilityIndexTest {
+    @Mock
+    private CarRepository carRepository;
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private CarAvailabilityIndex carAvailabilityIndex;
+
+    @BeforeEach
+    void setUp() {
+        carAvailabilityIndex = new CarAvailabilityIndex(carRepository, meterRegistry);
+        Mockito.when(carRepository.findAllAvailability()).thenReturn(List.of(
+                new CarAvailabilityDto(1L, 10),
+                new CarAvailabilityDto(2L, 3)));
+        carAvailabilityIndex.load();
+    }
+
+    @Test
+    @DisplayName("Verify inventory events update counters without reading the database")
+    public void onCarInventoryChanged_RentAndReturn_UpdatesCounters() {
+        //when
+        carAvailabilityIndex.onCarInventoryChanged(new CarInventoryChangedEvent(2L, -1));
+        carAvailabilityIndex.onCarInventoryChanged(new CarInventoryChangedEvent(2L, -1));
+        carAvailabilityIndex.onCarInventoryChanged(new CarInventoryChangedEvent(1L, 1));
+        List<CarAvailabilityDto> availability = carAvailabilityIndex.getAvailability();
+
+        //then
+        Assertions.assertEquals(List.of(new CarAvailabilityDto(1L, 11),
+                new CarAvailabilityDto(2L, 1)), availability);
+        Mockito.verify(carRepository, times(1)).findAllAvailability();
+        Mockito.verifyNoMoreInteractions(carRepository);
+    }
+
+    @Test
+    @DisplayName("Verify catalogue events add and remove cars from the index")
+    public void onCarCatalogueChanged_AddedAndDeletedCars_UpdatesIndex() {
+        //given
+        Mockito.when(carRepository.findById(3L))
+                .thenReturn(Optional.of(new Car().setId(3L).setInventory(5)));
+        Mockito.when(carRepository.findById(1L)).thenReturn(Optional.empty());
+
+        //when
+        carAvailabilityIndex.onCarCatalogueChanged(new CarCatalogueChangedEvent(3L));
+        carAvailabilityIndex.onCarCatalogueChanged(new CarCatalogueChangedEvent(1L));
+
+        //then
+        Assertions.assertEquals(List.of(new CarAvailabilityDto(2L, 3),
+                new CarAvailabilityDto(3L, 5)), carAvailabilityIndex.getAvailability());
+    }
+
+    @Test
+    @DisplayName("Verify reconcile() resets drifted counters to database values")
+    public void reconcile_DriftedCounters_ResetsAndReportsDrift() {
+        //given
+        carAvailabilityIndex.onCarInventoryChanged(new CarInventoryChangedEvent(1L, -1));
+        Mockito.when(carRepository.findAllAvailability()).thenReturn(List.of(
+                new CarAvailabilityDto(1L, 9),
+                new CarAvailabilityDto(2L, 2)));
+
+        //when
+        carAvailabilityIndex.reconcile();
+
+        //then
+        Assertions.assertEquals(List.of(new CarAvailabilityDto(1L, 9),
+                new CarAvailabilityDto(2L, 2)), carAvailabilityIndex.getAvailability());
+        Assertions.assertEquals(1, meterRegistry.counter("car.availability.drift").count());
+    }
+
+    @Test
+    @DisplayName("Verify reconcile() keeps a delta committed while the snapshot is read")
+    public void reconcile_DeltaDuringSnapshot_KeepsDelta() {
+        //given
+        Mockito.when(carRepository.findAllAvailability()).thenAnswer(invocation -> {
+            carAvailabilityIndex.onCarInventoryChanged(new CarInventoryChangedEvent(1L, -1));
+            return List.of(new CarAvailabilityDto(1L, 10), new CarAvailabilityDto(2L, 3));
+        });
+
+        //when
+        carAvailabilityIndex.reconcile();
+
+        //then
+        Assertions.assertEquals(List.of(new CarAvailabilityDto(1L, 9),
+                new CarAvailabilityDto(2L, 3)), carAvailabilityIndex.getAvailability());
+        Assertions.assertEquals(0, meterRegistry.counter("car.availability.drift").count());
+    }
+}
@@ -0,0 +1,118 @@
+package project.carsharingservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import project.carsharingservice.dto.cache.ETaggedDto;
+import project.carsharingservice.dto.car.CarDto;
+import project.carsharingservice.service.cache.CarCatalogueCache;
+import project.carsharingservice.service.event.CarInventoryChangedEvent;
+
+public class CarCatalogueCacheTest {
+    @Test
+    @DisplayName("Verify getCar() reloads a car once its cache entry expired")
+    public void getCar_ExpiredEntry_ReloadsCar() {
+        //given
+        CarCatalogueCache carCatalogueCache = new CarCatalogueCache(100, 100,
+                Duration.ofNanos(1), Duration.ofNanos(1), new ObjectMapper(),
+                new SimpleMeterRegistry());
+        AtomicInteger loads = new AtomicInteger();
+
+        //when
+        carCatalogueCache.getCar(1L, id -> new CarDto().setId(id)
+                .setInventory(loads.incrementAndGet()));
+        CarDto carDto = carCatalogueCache.getCar(1L, id -> new CarDto().setId(id)
+                .setInventory(loads.incrementAndGet())).getContent();
+
+        //then
+        Assertions.assertEquals(2, loads.get());
+        Assertions.assertEquals(2, carDto.getInventory());
+    }
+
+    @Test
+    @DisplayName("Verify getCar() serves a car from the cache until its entry expires")
+    public void getCar_UnexpiredEntry_ReturnsCachedCar() {
+        //given
+        CarCatalogueCache carCatalogueCache = new CarCatalogueCache(100, 100,
+                Duration.ofMinutes(5), Duration.ofMinutes(1), new ObjectMapper(),
+                new SimpleMeterRegistry());
+        AtomicInteger loads = new AtomicInteger();
+
+        //when
+        carCatalogueCache.getCar(1L, id -> new CarDto().setId(id)
+                .setInventory(loads.incrementAndGet()));
+        CarDto carDto = carCatalogueCache.getCar(1L, id -> new CarDto().setId(id)
+                .setInventory(loads.incrementAndGet())).getContent();
+
+        //then
+        Assertions.assertEquals(1, loads.get());
+        Assertions.assertEquals(1, carDto.getInventory());
+    }
+
+    @Test
+    @DisplayName("Verify getCar() keeps the ETag of a cached car until it is reloaded")
+    public void getCar_CachedEntry_ReturnsStoredETag() {
+        //given
+        CarCatalogueCache carCatalogueCache = new CarCatalogueCache(100, 100,
+                Duration.ofMinutes(5), Duration.ofMinutes(1), new ObjectMapper(),
+                new SimpleMeterRegistry());
+        AtomicInteger loads = new AtomicInteger();
+
+        //when
+        ETaggedDto<CarDto> loadedCar = carCatalogueCache.getCar(1L,
+                id -> new CarDto().setId(id).setInventory(loads.incrementAndGet()));
+        ETaggedDto<CarDto> cachedCar = carCatalogueCache.getCar(1L,
+                id -> new CarDto().setId(id).setInventory(loads.incrementAndGet()));
+        carCatalogueCache.onCarInventoryChanged(new CarInventoryChangedEvent(1L, -1));
+        ETaggedDto<CarDto> reloadedCar = carCatalogueCache.getCar(1L,
+                id -> new CarDto().setId(id).setInventory(loads.incrementAndGet()));
+
+        //then
+        Assertions.assertSame(loadedCar, cachedCar);
+        Assertions.assertEquals(64, loadedCar.getEtag().length());
+        Assertions.assertNotEquals(loadedCar.getEtag(), reloadedCar.getEtag());
+    }
+
+    @Test
+    @DisplayName("Verify getPage() derives the page ETag from the ETags of its cars")
+    public void getPage_CarChanged_ChangesPageETag() {
+        //given
+        CarCatalogueCache carCatalogueCache = new CarCatalogueCache(100, 100,
+                Duration.ofMinutes(5), Duration.ofMinutes(1), new ObjectMapper(),
+                new SimpleMeterRegistry());
+        Pageable pageable = PageRequest.of(0, 10);
+        AtomicInteger inventory = new AtomicInteger(5);
+        Function<Pageable, List<CarDto>> pageLoader = key -> List.of(
+                new CarDto().setId(1L).setInventory(inventory.get()),
+                new CarDto().setId(2L).setInventory(3));
+        Function<Set<? extends Long>, Map<Long, CarDto>> carsLoader = ids -> Map.of(
+                1L, new CarDto().setId(1L).setInventory(inventory.get()));
+
+        //when
+        ETaggedDto<List<CarDto>> page = carCatalogueCache.getPage(
+                pageable, pageLoader, carsLoader);
+        ETaggedDto<List<CarDto>> cachedPage = carCatalogueCache.getPage(
+                pageable, pageLoader, carsLoader);
+        inventory.decrementAndGet();
+        carCatalogueCache.onCarInventoryChanged(new CarInventoryChangedEvent(1L, -1));
+        ETaggedDto<List<CarDto>> changedPage = carCatalogueCache.getPage(
+                pageable, pageLoader, carsLoader);
+
+        //then
+        Assertions.assertEquals(page.getEtag(), cachedPage.getEtag());
+        Assertions.assertNotEquals(page.getEtag(), changedPage.getEtag());
+        Assertions.assertEquals(List.of(1L, 2L),
+                changedPage.getContent().stream().map(CarDto::getId).toList());
+        Assertions.assertEquals(4, changedPage.getContent().get(0).getInventory());
+    }
+}
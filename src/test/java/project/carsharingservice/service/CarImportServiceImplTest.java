@@ -0,0 +1,179 @@
+package project.carsharingservice.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import project.carsharingservice.dto.car.AddNewCarRequestDto;
+import project.carsharingservice.dto.car.CarImportErrorDto;
+import project.carsharingservice.dto.car.CarImportResultDto;
+import project.carsharingservice.exception.CarImportException;
+import project.carsharingservice.mapper.CarMapper;
+import project.carsharingservice.model.Car;
+import project.carsharingservice.repository.CarBatchRepository;
+import project.carsharingservice.service.event.CarsImportedEvent;
+import project.carsharingservice.service.impl.CarImportServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+public class CarImportServiceImplTest {
+    private static final int BATCH_SIZE = 2;
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    @Mock
+    private CarBatchRepository carBatchRepository;
+    @Mock
+    private CarMapper carMapper;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    private CarImportServiceImpl carImportService;
+
+    @BeforeEach
+    void setUp() {
+        carImportService = new CarImportServiceImpl(carBatchRepository, carMapper, validator,
+                transactionTemplate, eventPublisher, BATCH_SIZE);
+    }
+
+    @Test
+    @DisplayName("Verify importCarsFromCsv() inserts valid rows in batches and reports "
+            + "invalid, duplicated and existing rows")
+    public void importCarsFromCsv_MixedRows_ImportsValidRowsAndReportsErrors() {
+        //given
+        String csv = """
+                brand,model,type,inventory,dailyFee
+                Audi,A4,sedan,5,120.00
+                Audi,A6,truck,5,150.00
+                BMW,X5,suv,3,200.00
+                BMW,x5,suv,3,200.00
+                Toyota,Camry,sedan,ten,50.00
+                Tesla,Model 3,sedan,2,180.00
+                Toyota,Corolla,hatchback,4
+                """;
+        Mockito.doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        Mockito.when(carBatchRepository.findExistingModels(anyList()))
+                .thenAnswer(invocation -> invocation.<List<String>>getArgument(0)
+                        .contains("Model 3") ? Set.of("Model 3") : Set.of());
+        Mockito.when(carMapper.addNewCarRequestDtoToEntity(any(AddNewCarRequestDto.class)))
+                .thenAnswer(invocation -> createCar(invocation.getArgument(0)));
+
+        //when
+        CarImportResultDto result = carImportService.importCarsFromCsv(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        //then
+        Assertions.assertEquals(2, result.getImportedCount());
+        Assertions.assertEquals(List.of(2L, 4L, 5L, 6L, 7L), result.getErrors().stream()
+                .map(CarImportErrorDto::getRow)
+                .toList());
+        Assertions.assertEquals("Car with model Model 3 already exists",
+                result.getErrors().get(3).getMessage());
+
+        ArgumentCaptor<List<Car>> batches = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(carBatchRepository, times(1)).insertAll(batches.capture());
+        Assertions.assertEquals(List.of("A4", "X5"), batches.getValue().stream()
+                .map(Car::getModel)
+                .toList());
+        Mockito.verify(eventPublisher, times(1)).publishEvent(new CarsImportedEvent(2));
+    }
+
+    @Test
+    @DisplayName("Verify importCars() does not publish an event when nothing is imported")
+    public void importCars_OnlyInvalidRows_ReportsErrors() {
+        //given
+        List<AddNewCarRequestDto> requestDtos = List.of(new AddNewCarRequestDto()
+                .setBrand("Audi")
+                .setModel("A4")
+                .setType("sedan")
+                .setInventory(-1)
+                .setDailyFee(new BigDecimal("120.00")));
+
+        //when
+        CarImportResultDto result = carImportService.importCars(requestDtos);
+
+        //then
+        Assertions.assertEquals(0, result.getImportedCount());
+        Assertions.assertEquals(List.of(
+                new CarImportErrorDto(1, "inventory: must be greater than 0")), result.getErrors());
+        Mockito.verifyNoInteractions(carBatchRepository, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Verify importCarsFromCsv() rejects a file without the expected header")
+    public void importCarsFromCsv_MissingHeader_ThrowsException() {
+        //given
+        String csv = "Audi,A4,sedan,5,120.00\n";
+
+        //when
+        Exception exception = Assertions.assertThrows(CarImportException.class,
+                () -> carImportService.importCarsFromCsv(
+                        new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8))));
+
+        //then
+        Assertions.assertEquals("CSV file must start with the header "
+                + "brand,model,type,inventory,dailyFee", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Verify importCarsFromCsv() reads quoted fields with commas and quotes")
+    public void importCarsFromCsv_QuotedFields_ImportsUnquotedValues() {
+        //given
+        String csv = """
+                brand,model,type,inventory,dailyFee
+                "Mercedes-Benz","S 580, ""Maybach""\",sedan,1,"900.00"
+                Audi,"A4,sedan,5,120.00
+                """;
+        Mockito.doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        Mockito.when(carBatchRepository.findExistingModels(anyList())).thenReturn(Set.of());
+        Mockito.when(carMapper.addNewCarRequestDtoToEntity(any(AddNewCarRequestDto.class)))
+                .thenAnswer(invocation -> createCar(invocation.getArgument(0)));
+
+        //when
+        CarImportResultDto result = carImportService.importCarsFromCsv(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        //then
+        Assertions.assertEquals(1, result.getImportedCount());
+        Assertions.assertEquals(List.of(new CarImportErrorDto(2, "Quoted field is not terminated")),
+                result.getErrors());
+        ArgumentCaptor<List<Car>> batches = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(carBatchRepository, times(1)).insertAll(batches.capture());
+        Assertions.assertEquals(List.of("S 580, \"Maybach\""), batches.getValue().stream()
+                .map(Car::getModel)
+                .toList());
+    }
+
+    private Car createCar(AddNewCarRequestDto requestDto) {
+        return new Car()
+                .setBrand(requestDto.getBrand())
+                .setModel(requestDto.getModel())
+                .setType(Car.Type.findByValue(requestDto.getType()))
+                .setInventory(requestDto.getInventory())
+                .setDailyFee(requestDto.getDailyFee());
+    }
+}
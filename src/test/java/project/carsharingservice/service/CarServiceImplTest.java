@@ -4,7 +4,10 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.times;
 import static project.carsharingservice.model.Car.Type.SEDAN;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.Assertions;
@@ -14,18 +17,29 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import project.carsharingservice.dto.car.AddNewCarRequestDto;
 import project.carsharingservice.dto.car.CarDto;
+import project.carsharingservice.dto.car.CarSearchParametersDto;
+import project.carsharingservice.dto.car.CarSortKey;
 import project.carsharingservice.dto.car.UpdateCarInfoRequestDto;
+import project.carsharingservice.dto.page.CursorPageDto;
 import project.carsharingservice.exception.EntityNotFoundException;
+import project.carsharingservice.exception.InvalidCursorException;
 import project.carsharingservice.mapper.CarMapper;
 import project.carsharingservice.model.Car;
 import project.carsharingservice.repository.CarRepository;
+import project.carsharingservice.service.availability.CarAvailabilityIndex;
+import project.carsharingservice.service.cache.CarCatalogueCache;
+import project.carsharingservice.service.event.CarCatalogueChangedEvent;
+import project.carsharingservice.service.event.CarInventoryChangedEvent;
 import project.carsharingservice.service.impl.CarServiceImpl;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +48,14 @@ public class CarServiceImplTest {
     private CarRepository carRepository;
     @Mock
     private CarMapper carMapper;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private CarAvailabilityIndex carAvailabilityIndex;
+    @Spy
+    private CarCatalogueCache carCatalogueCache =
+            new CarCatalogueCache(100, 100, Duration.ofMinutes(5), Duration.ofMinutes(1),
+                    new ObjectMapper(), new SimpleMeterRegistry());
     @InjectMocks
     private CarServiceImpl carServiceImpl;
 
@@ -53,7 +75,7 @@ public class CarServiceImplTest {
         Mockito.when(carMapper.entityToCarDto(car)).thenReturn(carDto);
 
         //when
-        List<CarDto> actualCarDtosList = carServiceImpl.getAllCars(pageable);
+        List<CarDto> actualCarDtosList = carServiceImpl.getAllCars(pageable).getContent();
 
         //then
         Assertions.assertEquals(1, actualCarDtosList.size());
@@ -78,7 +100,7 @@ public class CarServiceImplTest {
         Mockito.when(carMapper.entityToCarDto(car)).thenReturn(expectedCarDto);
 
         //when
-        CarDto actualCarDto = carServiceImpl.getCarById(carId);
+        CarDto actualCarDto = carServiceImpl.getCarById(carId).getContent();
 
         //then
         Assertions.assertEquals(expectedCarDto, actualCarDto);
@@ -154,6 +176,8 @@ public class CarServiceImplTest {
         Mockito.verify(carMapper, times(1)).addNewCarRequestDtoToEntity(addNewCarRequestDto);
         Mockito.verify(carRepository, times(1)).save(car);
         Mockito.verify(carMapper, times(1)).entityToCarDto(car);
+        Mockito.verify(eventPublisher, times(1))
+                .publishEvent(new CarCatalogueChangedEvent(carId));
         Mockito.verifyNoMoreInteractions(carMapper);
         Mockito.verifyNoMoreInteractions(carRepository);
     }
@@ -224,6 +248,149 @@ public class CarServiceImplTest {
         Mockito.verifyNoInteractions(carMapper);
     }
 
+    @Test
+    @DisplayName("Verify getCarById() reads repeated requests from cache "
+            + "until car inventory changes")
+    public void getCarById_RepeatedRequests_LoadsCarOncePerInventoryChange() {
+        //given
+        long carId = 1L;
+        Car car = createCar(carId);
+        CarDto carDto = createCarDto(car);
+
+        Mockito.when(carRepository.findById(carId)).thenReturn(Optional.of(car));
+        Mockito.when(carMapper.entityToCarDto(car)).thenReturn(carDto);
+
+        //when
+        carServiceImpl.getCarById(carId);
+        CarDto cachedCarDto = carServiceImpl.getCarById(carId).getContent();
+        carCatalogueCache.onCarInventoryChanged(new CarInventoryChangedEvent(carId, -1));
+        CarDto reloadedCarDto = carServiceImpl.getCarById(carId).getContent();
+
+        //then
+        Assertions.assertEquals(carDto, cachedCarDto);
+        Assertions.assertEquals(carDto, reloadedCarDto);
+
+        Mockito.verify(carRepository, times(2)).findById(carId);
+        Mockito.verifyNoMoreInteractions(carRepository);
+    }
+
+    @Test
+    @DisplayName("Verify getAllCars() reads repeated requests from cache "
+            + "until car catalogue changes")
+    public void getAllCars_RepeatedRequests_LoadsPageOncePerCatalogueChange() {
+        //given
+        Car car = createCar(1L);
+        CarDto carDto = createCarDto(car);
+        Pageable pageable = PageRequest.of(0, 10);
+
+        Mockito.when(carRepository.findAll(pageable))
+                .thenReturn(new PageImpl<>(List.of(car), pageable, 1));
+        Mockito.when(carMapper.entityToCarDto(car)).thenReturn(carDto);
+
+        //when
+        carServiceImpl.getAllCars(pageable);
+        final List<CarDto> cachedCarDtos = carServiceImpl.getAllCars(pageable).getContent();
+        carCatalogueCache.onCarInventoryChanged(new CarInventoryChangedEvent(car.getId(), -1));
+        carServiceImpl.getAllCars(pageable);
+        carCatalogueCache.onCarCatalogueChanged(new CarCatalogueChangedEvent(2L));
+        List<CarDto> reloadedCarDtos = carServiceImpl.getAllCars(pageable).getContent();
+
+        //then
+        Assertions.assertEquals(List.of(carDto), cachedCarDtos);
+        Assertions.assertEquals(List.of(carDto), reloadedCarDtos);
+
+        Mockito.verify(carRepository, times(2)).findAll(pageable);
+        Mockito.verify(carRepository, times(1)).findAllById(List.of(car.getId()));
+        Mockito.verifyNoMoreInteractions(carRepository);
+    }
+
+    @Test
+    @DisplayName("Verify searchCars() queries cars matching the search parameters")
+    public void searchCars_ValidParameters_ReturnsMatchingCars() {
+        //given
+        Car car = createCar(1L);
+        CarDto carDto = createCarDto(car);
+        Pageable pageable = PageRequest.of(0, 10);
+        CarSearchParametersDto searchParameters = new CarSearchParametersDto()
+                .setType("sedan")
+                .setBrand("Audi")
+                .setMinDailyFee(new BigDecimal("100"))
+                .setMaxDailyFee(new BigDecimal("200"))
+                .setIsAvailable(true);
+
+        Mockito.when(carRepository.findAll(Mockito.<Specification<Car>>any(), Mockito.eq(pageable)))
+                .thenReturn(new PageImpl<>(List.of(car), pageable, 1));
+        Mockito.when(carMapper.entityToCarDto(car)).thenReturn(carDto);
+
+        //when
+        List<CarDto> actualCarDtos = carServiceImpl.searchCars(searchParameters, pageable);
+
+        //then
+        Assertions.assertEquals(List.of(carDto), actualCarDtos);
+        Mockito.verify(carRepository, times(1))
+                .findAll(Mockito.<Specification<Car>>any(), Mockito.eq(pageable));
+        Mockito.verifyNoMoreInteractions(carRepository);
+    }
+
+    @Test
+    @DisplayName("Verify searchCars() throws exception for unknown car type")
+    public void searchCars_UnknownType_ThrowsException() {
+        //given
+        CarSearchParametersDto searchParameters = new CarSearchParametersDto().setType("truck");
+
+        //when
+        Exception exception = assertThrows(IllegalArgumentException.class,
+                () -> carServiceImpl.searchCars(searchParameters, PageRequest.of(0, 10)));
+
+        //then
+        Assertions.assertEquals("No enum found with value: truck", exception.getMessage());
+        Mockito.verifyNoInteractions(carRepository);
+    }
+
+    @Test
+    @DisplayName("Verify scrollCars() returns a cursor to the next page ordered by daily fee")
+    public void scrollCars_OrderedByDailyFee_ReturnsPagesFollowingCursor() {
+        //given
+        Car firstCar = createCar(1L);
+        Car secondCar = createCar(2L);
+        Car thirdCar = createCar(3L);
+        Pageable limit = PageRequest.of(0, 3);
+
+        Mockito.when(carRepository.findFirstPageOrderByDailyFee(limit))
+                .thenReturn(List.of(firstCar, secondCar, thirdCar));
+        Mockito.when(carRepository.findPageAfterDailyFee(new BigDecimal("199.99"), 2L, limit))
+                .thenReturn(List.of(thirdCar));
+        Mockito.when(carMapper.entityToCarDto(Mockito.any(Car.class)))
+                .thenAnswer(invocation -> createCarDto(invocation.getArgument(0)));
+
+        //when
+        CursorPageDto<CarDto> firstPage = carServiceImpl.scrollCars(CarSortKey.DAILY_FEE, null, 2);
+        CursorPageDto<CarDto> secondPage = carServiceImpl.scrollCars(CarSortKey.DAILY_FEE,
+                firstPage.getNextCursor(), 2);
+
+        //then
+        Assertions.assertEquals(List.of(1L, 2L), firstPage.getContent().stream()
+                .map(CarDto::getId)
+                .toList());
+        Assertions.assertEquals(List.of(3L), secondPage.getContent().stream()
+                .map(CarDto::getId)
+                .toList());
+        Assertions.assertNull(secondPage.getNextCursor());
+        Mockito.verify(carRepository, times(0)).count();
+    }
+
+    @Test
+    @DisplayName("Verify scrollCars() throws exception for a malformed cursor")
+    public void scrollCars_MalformedCursor_ThrowsException() {
+        //when
+        Exception exception = assertThrows(InvalidCursorException.class,
+                () -> carServiceImpl.scrollCars(CarSortKey.ID, "not-a-cursor", 20));
+
+        //then
+        Assertions.assertEquals("Cursor not-a-cursor is not valid", exception.getMessage());
+        Mockito.verifyNoInteractions(carRepository);
+    }
+
     private CarDto createCarDto(Car car) {
         return new CarDto()
                 .setId(car.getId())
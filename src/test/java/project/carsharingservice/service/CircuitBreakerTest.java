@@ -0,0 +1,90 @@
+package project.carsharingservice.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import project.carsharingservice.service.payment.CircuitBreaker;
+
+@ExtendWith(MockitoExtension.class)
+public class CircuitBreakerTest {
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+    @Mock
+    private Clock clock;
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreaker = new CircuitBreaker("test", clock, 4, 4, 0.5,
+                Duration.ofSeconds(30), 2);
+    }
+
+    @Test
+    @DisplayName("Verify circuit opens when failure rate reaches threshold")
+    public void onFailure_FailureRateReachesThreshold_OpensCircuit() {
+        //given
+        Mockito.when(clock.instant()).thenReturn(NOW);
+
+        //when
+        circuitBreaker.onSuccess();
+        circuitBreaker.onSuccess();
+        circuitBreaker.onFailure();
+        CircuitBreaker.State stateBeforeThreshold = circuitBreaker.getState();
+        circuitBreaker.onFailure();
+
+        //then
+        Assertions.assertEquals(CircuitBreaker.State.CLOSED, stateBeforeThreshold);
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        Assertions.assertFalse(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    @DisplayName("Verify open circuit lets limited trial calls through and closes after them")
+    public void tryAcquirePermission_OpenDurationElapsed_HalfOpensAndCloses() {
+        //given
+        Mockito.when(clock.instant()).thenReturn(NOW, NOW.plusSeconds(31));
+        openCircuit();
+
+        //when
+        final boolean firstTrial = circuitBreaker.tryAcquirePermission();
+        final boolean secondTrial = circuitBreaker.tryAcquirePermission();
+        final boolean thirdTrial = circuitBreaker.tryAcquirePermission();
+        circuitBreaker.onSuccess();
+        circuitBreaker.onSuccess();
+
+        //then
+        Assertions.assertTrue(firstTrial);
+        Assertions.assertTrue(secondTrial);
+        Assertions.assertFalse(thirdTrial);
+        Assertions.assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    @DisplayName("Verify failed trial call reopens the circuit")
+    public void onFailure_HalfOpen_ReopensCircuit() {
+        //given
+        Mockito.when(clock.instant()).thenReturn(NOW, NOW.plusSeconds(31), NOW.plusSeconds(32));
+        openCircuit();
+        circuitBreaker.tryAcquirePermission();
+
+        //when
+        circuitBreaker.onFailure();
+
+        //then
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        Assertions.assertFalse(circuitBreaker.tryAcquirePermission());
+    }
+
+    private void openCircuit() {
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onFailure();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package project.carsharingservice.service;
+
+import static org.mockito.Mockito.times;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import project.carsharingservice.dto.export.ExportFormat;
+import project.carsharingservice.dto.export.PaymentExportDto;
+import project.carsharingservice.dto.export.RentalExportDto;
+import project.carsharingservice.model.Payment;
+import project.carsharingservice.repository.PaymentRepository;
+import project.carsharingservice.repository.RentalRepository;
+import project.carsharingservice.service.impl.ExportServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+public class ExportServiceImplTest {
+    private static final LocalDate FROM = LocalDate.of(2024, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2024, 1, 31);
+    @Mock
+    private RentalRepository rentalRepository;
+    @Mock
+    private PaymentRepository paymentRepository;
+    private ExportServiceImpl exportService;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exportService = new ExportServiceImpl(rentalRepository, paymentRepository, objectMapper);
+    }
+
+    @Test
+    @DisplayName("Verify exportRentals() writes a CSV header and one line per rental")
+    public void exportRentals_CsvFormat_WritesHeaderAndRows() {
+        //given
+        Mockito.when(rentalRepository.streamForExport(FROM, TO)).thenReturn(Stream.of(
+                new RentalExportDto(1L, FROM, FROM.plusDays(7), FROM.plusDays(6), 2L, 3L),
+                new RentalExportDto(2L, FROM.plusDays(1), FROM.plusDays(8), null, 1L, 3L)));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        //when
+        exportService.exportRentals(FROM, TO, ExportFormat.CSV, output);
+
+        //then
+        Assertions.assertEquals("""
+                id,rentalDate,returnDate,actualReturnDate,carId,userId
+                1,2024-01-01,2024-01-08,2024-01-07,2,3
+                2,2024-01-02,2024-01-09,,1,3
+                """, output.toString(StandardCharsets.UTF_8));
+        Mockito.verify(rentalRepository, times(1)).streamForExport(FROM, TO);
+    }
+
+    @Test
+    @DisplayName("Verify exportPayments() writes one JSON document per line")
+    public void exportPayments_NdjsonFormat_WritesJsonLines() {
+        //given
+        Mockito.when(paymentRepository.streamForExport(FROM, TO)).thenReturn(Stream.of(
+                new PaymentExportDto(1L, 2L, 3L, FROM, Payment.PaymentStatus.PAID,
+                        Payment.PaymentType.PAYMENT, "cs_1", new BigDecimal("350.00"))));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        //when
+        exportService.exportPayments(FROM, TO, ExportFormat.NDJSON, output);
+
+        //then
+        Assertions.assertEquals("{\"id\":1,\"rentalId\":2,\"userId\":3,"
+                + "\"rentalDate\":\"2024-01-01\",\"paymentStatus\":\"PAID\","
+                + "\"paymentType\":\"PAYMENT\",\"sessionId\":\"cs_1\",\"totalPrice\":350.00}\n",
+                output.toString(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,162 @@
+package project.carsharingservice.service;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import project.carsharingservice.exception.TelegramNotificationException;
+import project.carsharingservice.service.notification.bot.NotificationDispatcher;
+import project.carsharingservice.service.notification.bot.NotificationSender;
+
+@ExtendWith(MockitoExtension.class)
+public class NotificationDispatcherTest {
+    @Mock
+    private NotificationSender notificationSender;
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private NotificationDispatcher notificationDispatcher;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        notificationDispatcher.stop();
+    }
+
+    @Test
+    @DisplayName("Verify dispatch() coalesces queued messages into batches within size limit")
+    public void dispatch_BurstOfMessages_SendsCoalescedBatches() throws InterruptedException {
+        //given
+        notificationDispatcher = createDispatcher(1);
+        List<String> sentMessages = new CopyOnWriteArrayList<>();
+        CountDownLatch sentLatch = new CountDownLatch(2);
+        doAnswer(invocation -> {
+            sentMessages.add(invocation.getArgument(0));
+            sentLatch.countDown();
+            return null;
+        }).when(notificationSender).send(anyString());
+        String message = "x".repeat(1000);
+
+        //when
+        for (int i = 0; i < 5; i++) {
+            notificationDispatcher.dispatch(message);
+        }
+        notificationDispatcher.start();
+
+        //then
+        Assertions.assertTrue(sentLatch.await(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(2, sentMessages.size());
+        Assertions.assertEquals(5, sentMessages.stream()
+                .mapToInt(text -> text.split("\n\n").length)
+                .sum());
+        sentMessages.forEach(text -> Assertions.assertTrue(
+                text.length() <= NotificationDispatcher.MAX_MESSAGE_LENGTH));
+    }
+
+    @Test
+    @DisplayName("Verify dispatch() enqueues message only after transaction commit")
+    public void dispatch_ActiveTransaction_EnqueuesAfterCommit() {
+        //given
+        notificationDispatcher = createDispatcher(1);
+        TransactionSynchronizationManager.initSynchronization();
+
+        //when
+        notificationDispatcher.dispatch("New rental");
+
+        //then
+        Assertions.assertEquals(0, notificationDispatcher.getQueueDepth());
+
+        List<TransactionSynchronization> synchronizations =
+                TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        Assertions.assertEquals(1, notificationDispatcher.getQueueDepth());
+        Mockito.verifyNoInteractions(notificationSender);
+    }
+
+    @Test
+    @DisplayName("Verify failed send is retried with backoff until it succeeds")
+    public void dispatch_SenderFailsOnce_RetriesAndSends() throws InterruptedException {
+        //given
+        notificationDispatcher = createDispatcher(3);
+        CountDownLatch sentLatch = new CountDownLatch(2);
+        doAnswer(invocation -> {
+            sentLatch.countDown();
+            if (sentLatch.getCount() == 1) {
+                throw new TelegramNotificationException("Your notification was not sent", null);
+            }
+            return null;
+        }).when(notificationSender).send("Rental with id 1 was successfully paid");
+
+        //when
+        notificationDispatcher.start();
+        notificationDispatcher.dispatch("Rental with id 1 was successfully paid");
+
+        //then
+        Assertions.assertTrue(sentLatch.await(5, TimeUnit.SECONDS));
+        Mockito.verify(notificationSender, Mockito.timeout(1000).times(2))
+                .send("Rental with id 1 was successfully paid");
+        Assertions.assertEquals(0, meterRegistry.counter("notifications.failed").count());
+    }
+
+    @Test
+    @DisplayName("Verify message is counted as failed after all attempts")
+    public void dispatch_SenderAlwaysFails_CountsFailure() throws InterruptedException {
+        //given
+        notificationDispatcher = createDispatcher(2);
+        doThrow(new TelegramNotificationException("Your notification was not sent", null))
+                .when(notificationSender).send(anyString());
+
+        //when
+        notificationDispatcher.start();
+        notificationDispatcher.dispatch("New rental");
+        notificationDispatcher.stop();
+
+        //then
+        Mockito.verify(notificationSender, times(2)).send("New rental");
+        Assertions.assertEquals(1, meterRegistry.counter("notifications.failed").count());
+    }
+
+    @Test
+    @DisplayName("Verify deliver() returns only the items of messages that were not sent")
+    public void deliver_OneMessageFails_ReturnsItsItemsOnly() {
+        //given
+        notificationDispatcher = createDispatcher(1);
+        String poison = "p".repeat(NotificationDispatcher.MAX_MESSAGE_LENGTH);
+        Mockito.lenient()
+                .doThrow(new TelegramNotificationException("Your notification was not sent", null))
+                .when(notificationSender).send(poison);
+        List<String> items = List.of("first", poison, "last");
+
+        //when
+        List<String> undelivered = notificationDispatcher.deliver(items, Function.identity());
+
+        //then
+        Assertions.assertEquals(List.of(poison), undelivered);
+        Mockito.verify(notificationSender, times(1)).send("first");
+        Mockito.verify(notificationSender, times(1)).send("last");
+    }
+
+    private NotificationDispatcher createDispatcher(int maxAttempts) {
+        return new NotificationDispatcher(notificationSender, meterRegistry, 100,
+                Duration.ofMillis(10), 50, maxAttempts, Duration.ofMillis(1));
+    }
+}
@@ -0,0 +1,152 @@
+package project.carsharingservice.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import project.carsharingservice.exception.TelegramNotificationException;
+import project.carsharingservice.model.OutboxEvent;
+import project.carsharingservice.repository.OutboxEventRepository;
+import project.carsharingservice.service.outbox.OutboxEventHandler;
+import project.carsharingservice.service.outbox.OutboxRelay;
+
+@ExtendWith(MockitoExtension.class)
+public class OutboxRelayTest {
+    private static final int BATCH_SIZE = 2;
+    private static final int MAX_ATTEMPTS = 3;
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+    @Mock
+    private OutboxEventHandler outboxEventHandler;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        Mockito.when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        Mockito.lenient().doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        outboxRelay = new OutboxRelay(outboxEventRepository, List.of(outboxEventHandler),
+                transactionTemplate, meterRegistry, BATCH_SIZE, MAX_ATTEMPTS,
+                Duration.ofMinutes(5), Duration.ofSeconds(30));
+    }
+
+    @Test
+    @DisplayName("Verify relay() drains full batches until the outbox is empty")
+    public void relay_SeveralBatches_HandlesAndDeletesAllEvents() {
+        //given
+        List<OutboxEvent> firstBatch = createEvents(1, 2);
+        List<OutboxEvent> secondBatch = createEvents(3, 3);
+        Mockito.when(outboxEventRepository.findBatchForUpdate(any(), eq(BATCH_SIZE)))
+                .thenReturn(firstBatch, secondBatch);
+        Mockito.when(outboxEventHandler.handle(any())).thenReturn(List.of());
+
+        //when
+        outboxRelay.relay();
+
+        //then
+        Mockito.verify(outboxEventRepository, times(1)).claim(eq(List.of(1L, 2L)), any());
+        Mockito.verify(outboxEventRepository, times(1)).claim(eq(List.of(3L)), any());
+        Mockito.verify(outboxEventHandler, times(1)).handle(firstBatch);
+        Mockito.verify(outboxEventHandler, times(1)).handle(secondBatch);
+        Mockito.verify(outboxEventRepository, times(1)).deleteAllByIdInBatch(List.of(1L, 2L));
+        Mockito.verify(outboxEventRepository, times(1)).deleteAllByIdInBatch(List.of(3L));
+        Assertions.assertEquals(3, meterRegistry.counter("outbox.events.relayed").count());
+        Assertions.assertTrue(outboxRelay.getLagMillis() >= 60_000);
+    }
+
+    @Test
+    @DisplayName("Verify relay() delivers events after a poison event and reschedules it alone")
+    public void relay_PoisonEvent_DoesNotBlockFollowingEvents() {
+        //given
+        List<OutboxEvent> batch = createEvents(1, 3);
+        Mockito.when(outboxEventRepository.findBatchForUpdate(any(), eq(BATCH_SIZE)))
+                .thenReturn(batch);
+        Mockito.when(outboxEventHandler.handle(batch)).thenReturn(List.of(batch.get(1)));
+
+        //when
+        outboxRelay.relay();
+
+        //then
+        Mockito.verify(outboxEventRepository, times(1)).deleteAllByIdInBatch(List.of(1L, 3L));
+        Mockito.verify(outboxEventRepository, times(1)).reschedule(eq(2L), any());
+        Mockito.verify(outboxEventRepository, Mockito.never()).updateStatus(any(), any());
+        Assertions.assertEquals(1, batch.get(1).getAttempts());
+        Assertions.assertEquals(2, meterRegistry.counter("outbox.events.relayed").count());
+        Assertions.assertEquals(1, meterRegistry.counter("outbox.events.retried").count());
+    }
+
+    @Test
+    @DisplayName("Verify relay() moves an event to dead letters after the last attempt")
+    public void relay_EventFailsLastAttempt_MovesToDeadLetters() {
+        //given
+        List<OutboxEvent> batch = createEvents(1, 1);
+        batch.get(0).setAttempts(MAX_ATTEMPTS - 1);
+        Mockito.when(outboxEventRepository.findBatchForUpdate(any(), eq(BATCH_SIZE)))
+                .thenReturn(batch);
+        Mockito.when(outboxEventHandler.handle(batch)).thenReturn(batch);
+
+        //when
+        outboxRelay.relay();
+
+        //then
+        Mockito.verify(outboxEventRepository, times(1))
+                .updateStatus(1L, OutboxEvent.Status.DEAD);
+        Mockito.verify(outboxEventRepository, Mockito.never()).reschedule(any(), any());
+        Mockito.verify(outboxEventRepository, Mockito.never()).deleteAllByIdInBatch(any());
+        Assertions.assertEquals(1, meterRegistry.counter("outbox.events.dead").count());
+    }
+
+    @Test
+    @DisplayName("Verify relay() reschedules all events when a handler fails")
+    public void relay_HandlerFails_ReschedulesEvents() {
+        //given
+        List<OutboxEvent> batch = createEvents(1, 2);
+        Mockito.when(outboxEventRepository.findBatchForUpdate(any(), eq(BATCH_SIZE)))
+                .thenReturn(batch, List.of());
+        Mockito.doThrow(new TelegramNotificationException("Your notification was not sent", null))
+                .when(outboxEventHandler).handle(batch);
+
+        //when
+        outboxRelay.relay();
+
+        //then
+        Mockito.verify(outboxEventRepository, times(1)).reschedule(eq(1L), any());
+        Mockito.verify(outboxEventRepository, times(1)).reschedule(eq(2L), any());
+        Mockito.verify(outboxEventRepository, Mockito.never()).deleteAllByIdInBatch(any());
+        Assertions.assertEquals(0, meterRegistry.counter("outbox.events.relayed").count());
+    }
+
+    private List<OutboxEvent> createEvents(long fromId, long toId) {
+        return LongStream.rangeClosed(fromId, toId)
+                .mapToObj(id -> new OutboxEvent()
+                        .setId(id)
+                        .setEventType(OutboxEvent.EventType.RENTAL_CREATED)
+                        .setAggregateId(id)
+                        .setPayload("{}")
+                        .setCreatedAt(LocalDateTime.now().minusMinutes(1)))
+                .toList();
+    }
+}
@@ -2,32 +2,43 @@ package project.carsharingservice.service;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static project.carsharingservice.model.Car.Type.SEDAN;
 import static project.carsharingservice.model.Payment.PaymentStatus.PAID;
 import static project.carsharingservice.model.Payment.PaymentStatus.PENDING;
 import static project.carsharingservice.model.Payment.PaymentType.PAYMENT;
 
-import com.stripe.model.checkout.Session;
 import java.math.BigDecimal;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import project.carsharingservice.dto.page.CursorPageDto;
 import project.carsharingservice.dto.payment.MakePaymentRequestDto;
 import project.carsharingservice.dto.payment.PaymentDto;
 import project.carsharingservice.exception.EntityNotFoundException;
+import project.carsharingservice.exception.IdempotencyKeyException;
 import project.carsharingservice.exception.PaidPaymentException;
 import project.carsharingservice.exception.RentalReturnException;
 import project.carsharingservice.exception.UnauthorizedAccessException;
@@ -39,21 +50,27 @@ import project.carsharingservice.model.Role;
 import project.carsharingservice.model.User;
 import project.carsharingservice.repository.PaymentRepository;
 import project.carsharingservice.repository.RentalRepository;
-import project.carsharingservice.service.impl.StripePaymentService;
-import project.carsharingservice.service.notification.bot.NotificationService;
+import project.carsharingservice.service.impl.PaymentServiceImpl;
+import project.carsharingservice.service.pagination.CursorPagination;
+import project.carsharingservice.service.payment.CheckoutSession;
+import project.carsharingservice.service.payment.CheckoutSessionRequest;
+import project.carsharingservice.service.payment.ResilientPaymentGateway;
 
 @ExtendWith(MockitoExtension.class)
-public class StripePaymentServiceTest {
-    @Mock
-    private NotificationService notificationService;
+public class PaymentServiceImplTest {
     @Mock
     private RentalRepository rentalRepository;
     @Mock
     private PaymentRepository paymentRepository;
     @Mock
     private PaymentMapper paymentMapper;
+    @Mock
+    private ResilientPaymentGateway resilientPaymentGateway;
+    @Spy
+    private TransactionTemplate transactionTemplate =
+            new TransactionTemplate(Mockito.mock(PlatformTransactionManager.class));
     @InjectMocks
-    private StripePaymentService stripePaymentService;
+    private PaymentServiceImpl paymentService;
 
     @Test
     @DisplayName("Verify createPaymentSession() method works")
@@ -64,34 +81,51 @@ public class StripePaymentServiceTest {
         Rental rental = createRental(user, false);
         rental.setCar(createDefaultCar());
         MakePaymentRequestDto requestDto = new MakePaymentRequestDto().setRentalId(rental.getId());
-        Payment modelPayment = createModelPayment();
-        Payment expectedPayment = createPayment(1L, rental, createDefaultSession());
+        CheckoutSession session = createDefaultSession();
+        Payment expectedPayment = createPayment(1L, rental, session);
         PaymentDto expectedPaymentDto = createPaymentDto(expectedPayment);
 
         Mockito.when(rentalRepository.findById(requestDto.getRentalId()))
                 .thenReturn(Optional.of(rental));
+        Mockito.when(rentalRepository.findByIdForUpdate(requestDto.getRentalId()))
+                .thenReturn(Optional.of(rental));
         Mockito.when(paymentRepository.findSuccessfulPaymentByRentalId(rental.getId()))
                 .thenReturn(Optional.empty());
-        Mockito.when(paymentRepository.save(any()))
-                .thenReturn(modelPayment);
+        Mockito.when(paymentRepository.findPendingPaymentByRentalId(eq(rental.getId()), any()))
+                .thenReturn(Optional.empty());
+        Mockito.when(resilientPaymentGateway.createSession(any()))
+                .thenReturn(session);
         Mockito.when(paymentRepository.save(any()))
                 .thenReturn(expectedPayment);
         Mockito.when(paymentMapper.entityToPaymentDto(expectedPayment))
                 .thenReturn(expectedPaymentDto);
 
         //when
-        PaymentDto actualPaymentDto = stripePaymentService
-                .createPaymentSession(requestDto, user);
+        PaymentDto actualPaymentDto = paymentService
+                .createPaymentSession(requestDto, user, null);
 
         //then
         Assertions.assertEquals(expectedPaymentDto, actualPaymentDto);
 
         Mockito.verify(rentalRepository, times(1))
                 .findById(requestDto.getRentalId());
-        Mockito.verify(paymentRepository, times(1))
+        Mockito.verify(rentalRepository, times(1))
+                .findByIdForUpdate(requestDto.getRentalId());
+        Mockito.verify(paymentRepository, times(2))
                 .findSuccessfulPaymentByRentalId(rental.getId());
         Mockito.verify(paymentRepository, times(2))
-                .save(any());
+                .findPendingPaymentByRentalId(eq(rental.getId()), any());
+        ArgumentCaptor<CheckoutSessionRequest> request =
+                ArgumentCaptor.forClass(CheckoutSessionRequest.class);
+        Mockito.verify(resilientPaymentGateway, times(1)).createSession(request.capture());
+        Assertions.assertTrue(request.getValue().successUrl()
+                .endsWith("/payments/success/{CHECKOUT_SESSION_ID}"));
+        ArgumentCaptor<Payment> savedPayment = ArgumentCaptor.forClass(Payment.class);
+        Mockito.verify(paymentRepository, times(1))
+                .save(savedPayment.capture());
+        Assertions.assertEquals(session.id(), savedPayment.getValue().getSessionId());
+        Assertions.assertEquals(PENDING, savedPayment.getValue().getPaymentStatus());
+        Assertions.assertNotNull(savedPayment.getValue().getExpiresAt());
         Mockito.verify(paymentMapper, times(1))
                 .entityToPaymentDto(expectedPayment);
         Mockito.verifyNoMoreInteractions(rentalRepository);
@@ -112,7 +146,7 @@ public class StripePaymentServiceTest {
         //when
         Exception exception = assertThrows(
                 EntityNotFoundException.class,
-                () -> stripePaymentService.createPaymentSession(requestDto, user)
+                () -> paymentService.createPaymentSession(requestDto, user, null)
         );
 
         //then
@@ -146,7 +180,7 @@ public class StripePaymentServiceTest {
         //when
         Exception exception = assertThrows(
                 PaidPaymentException.class,
-                () -> stripePaymentService.createPaymentSession(requestDto, user)
+                () -> paymentService.createPaymentSession(requestDto, user, null)
         );
 
         //then
@@ -181,7 +215,7 @@ public class StripePaymentServiceTest {
         //when
         Exception exception = assertThrows(
                 EntityNotFoundException.class,
-                () -> stripePaymentService.createPaymentSession(requestDto, user)
+                () -> paymentService.createPaymentSession(requestDto, user, null)
         );
 
         //then
@@ -209,19 +243,16 @@ public class StripePaymentServiceTest {
         Rental rental = createRental(user, true);
         rental.setCar(createDefaultCar());
         MakePaymentRequestDto requestDto = new MakePaymentRequestDto().setRentalId(rental.getId());
-        Payment modelPayment = createModelPayment();
 
         Mockito.when(rentalRepository.findById(requestDto.getRentalId()))
                 .thenReturn(Optional.of(rental));
         Mockito.when(paymentRepository.findSuccessfulPaymentByRentalId(rental.getId()))
                 .thenReturn(Optional.empty());
-        Mockito.when(paymentRepository.save(any()))
-                .thenReturn(modelPayment);
 
         //when
         Exception exception = assertThrows(
                 RentalReturnException.class,
-                () -> stripePaymentService.createPaymentSession(requestDto, user)
+                () -> paymentService.createPaymentSession(requestDto, user, null)
         );
 
         //then
@@ -235,12 +266,163 @@ public class StripePaymentServiceTest {
         Mockito.verify(paymentRepository, times(1))
                 .findSuccessfulPaymentByRentalId(rental.getId());
         Mockito.verify(paymentRepository, times(1))
-                .save(any());
+                .findPendingPaymentByRentalId(eq(rental.getId()), any());
         Mockito.verifyNoMoreInteractions(rentalRepository);
         Mockito.verifyNoMoreInteractions(paymentRepository);
         Mockito.verifyNoInteractions(paymentMapper);
     }
 
+    @Test
+    @DisplayName("Verify createPaymentSession() reuses unexpired pending session of rental")
+    public void createPaymentSession_UnexpiredPendingSession_ReturnsPendingPayment()
+            throws MalformedURLException {
+        //given
+        User user = createCustomerUser();
+        Rental rental = createRental(user, false);
+        MakePaymentRequestDto requestDto = new MakePaymentRequestDto().setRentalId(rental.getId());
+        Payment pendingPayment = createPayment(1L, rental, createDefaultSession())
+                .setExpiresAt(LocalDateTime.now().plusHours(23));
+        PaymentDto expectedPaymentDto = createPaymentDto(pendingPayment);
+
+        Mockito.when(rentalRepository.findById(requestDto.getRentalId()))
+                .thenReturn(Optional.of(rental));
+        Mockito.when(paymentRepository.findSuccessfulPaymentByRentalId(rental.getId()))
+                .thenReturn(Optional.empty());
+        Mockito.when(paymentRepository.findPendingPaymentByRentalId(eq(rental.getId()),
+                        any(LocalDateTime.class)))
+                .thenReturn(Optional.of(pendingPayment));
+        Mockito.when(paymentMapper.entityToPaymentDto(pendingPayment))
+                .thenReturn(expectedPaymentDto);
+
+        //when
+        PaymentDto actualPaymentDto = paymentService
+                .createPaymentSession(requestDto, user, null);
+
+        //then
+        Assertions.assertEquals(expectedPaymentDto, actualPaymentDto);
+
+        Mockito.verify(paymentRepository, times(0)).save(any());
+        Mockito.verify(rentalRepository, times(1))
+                .findById(requestDto.getRentalId());
+        Mockito.verifyNoMoreInteractions(rentalRepository);
+    }
+
+    @Test
+    @DisplayName("Verify createPaymentSession() returns payment of replayed idempotency key")
+    public void createPaymentSession_ReplayedIdempotencyKey_ReturnsSamePayment()
+            throws MalformedURLException {
+        //given
+        String idempotencyKey = "8c2f1a6e-5b0d-4c8e-9a51-1f3b2d7e6c90";
+        User user = createCustomerUser();
+        Rental rental = createRental(user, false);
+        MakePaymentRequestDto requestDto = new MakePaymentRequestDto().setRentalId(rental.getId());
+        Payment payment = createPayment(1L, rental, createDefaultSession())
+                .setIdempotencyKey(idempotencyKey);
+        PaymentDto expectedPaymentDto = createPaymentDto(payment);
+
+        Mockito.when(paymentRepository.findByIdempotencyKey(idempotencyKey))
+                .thenReturn(Optional.of(payment));
+        Mockito.when(paymentMapper.entityToPaymentDto(payment))
+                .thenReturn(expectedPaymentDto);
+
+        //when
+        PaymentDto actualPaymentDto = paymentService
+                .createPaymentSession(requestDto, user, idempotencyKey);
+
+        //then
+        Assertions.assertEquals(expectedPaymentDto, actualPaymentDto);
+
+        Mockito.verify(paymentRepository, times(1)).findByIdempotencyKey(idempotencyKey);
+        Mockito.verifyNoMoreInteractions(paymentRepository);
+        Mockito.verifyNoInteractions(rentalRepository);
+    }
+
+    @Test
+    @DisplayName("Verify createPaymentSession() sends the same gateway request when a key "
+            + "is replayed after the payment was not saved")
+    public void createPaymentSession_ReplayAfterFailedSave_SendsSameGatewayRequest()
+            throws MalformedURLException {
+        //given
+        String idempotencyKey = "8c2f1a6e-5b0d-4c8e-9a51-1f3b2d7e6c90";
+        User user = createCustomerUser();
+        Rental rental = createRental(user, false);
+        rental.setCar(createDefaultCar());
+        MakePaymentRequestDto requestDto = new MakePaymentRequestDto().setRentalId(rental.getId());
+        CheckoutSession session = createDefaultSession();
+        Payment expectedPayment = createPayment(1L, rental, session)
+                .setIdempotencyKey(idempotencyKey);
+        PaymentDto expectedPaymentDto = createPaymentDto(expectedPayment);
+
+        Mockito.when(paymentRepository.findByIdempotencyKey(idempotencyKey))
+                .thenReturn(Optional.empty());
+        Mockito.when(rentalRepository.findById(requestDto.getRentalId()))
+                .thenReturn(Optional.of(rental));
+        Mockito.when(rentalRepository.findByIdForUpdate(requestDto.getRentalId()))
+                .thenReturn(Optional.of(rental));
+        Mockito.when(paymentRepository.findSuccessfulPaymentByRentalId(rental.getId()))
+                .thenReturn(Optional.empty());
+        Mockito.when(paymentRepository.findPendingPaymentByRentalId(eq(rental.getId()), any()))
+                .thenReturn(Optional.empty());
+        Mockito.when(resilientPaymentGateway.createSession(any()))
+                .thenReturn(session);
+        Mockito.when(paymentRepository.save(any()))
+                .thenThrow(new DataAccessResourceFailureException("Connection is closed"))
+                .thenReturn(expectedPayment);
+        Mockito.when(paymentMapper.entityToPaymentDto(expectedPayment))
+                .thenReturn(expectedPaymentDto);
+        LocalDateTime hourBefore = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+
+        //when
+        assertThrows(DataAccessResourceFailureException.class,
+                () -> paymentService.createPaymentSession(requestDto, user, idempotencyKey));
+        PaymentDto actualPaymentDto = paymentService
+                .createPaymentSession(requestDto, user, idempotencyKey);
+
+        //then
+        Assumptions.assumeTrue(hourBefore.equals(
+                LocalDateTime.now().truncatedTo(ChronoUnit.HOURS)));
+        Assertions.assertEquals(expectedPaymentDto, actualPaymentDto);
+        ArgumentCaptor<CheckoutSessionRequest> requests =
+                ArgumentCaptor.forClass(CheckoutSessionRequest.class);
+        Mockito.verify(resilientPaymentGateway, times(2)).createSession(requests.capture());
+        CheckoutSessionRequest firstRequest = requests.getAllValues().get(0);
+        Assertions.assertEquals(firstRequest, requests.getAllValues().get(1));
+        Assertions.assertNotNull(firstRequest.idempotencyKey());
+        Assertions.assertNotEquals(idempotencyKey, firstRequest.idempotencyKey());
+    }
+
+    @Test
+    @DisplayName("Verify createPaymentSession() throws exception when idempotency key "
+            + "was used for another rental")
+    public void createPaymentSession_IdempotencyKeyOfAnotherRental_ThrowsException()
+            throws MalformedURLException {
+        //given
+        String idempotencyKey = "8c2f1a6e-5b0d-4c8e-9a51-1f3b2d7e6c90";
+        User user = createCustomerUser();
+        Rental rental = createRental(user, false);
+        MakePaymentRequestDto requestDto = new MakePaymentRequestDto()
+                .setRentalId(rental.getId() + 1);
+        Payment payment = createPayment(1L, rental, createDefaultSession())
+                .setIdempotencyKey(idempotencyKey);
+
+        Mockito.when(paymentRepository.findByIdempotencyKey(idempotencyKey))
+                .thenReturn(Optional.of(payment));
+
+        //when
+        Exception exception = assertThrows(
+                IdempotencyKeyException.class,
+                () -> paymentService.createPaymentSession(requestDto, user, idempotencyKey)
+        );
+
+        //then
+        String expectedMessage = "Idempotency key " + idempotencyKey
+                + " was already used for another payment request";
+        Assertions.assertEquals(expectedMessage, exception.getMessage());
+
+        Mockito.verifyNoInteractions(rentalRepository);
+        Mockito.verifyNoInteractions(paymentMapper);
+    }
+
     @Test
     @DisplayName("Verify getAllPaymentsByUserId() method works when "
             + "valid usedId for customer user ")
@@ -264,7 +446,7 @@ public class StripePaymentServiceTest {
                 .thenReturn(paymentDto);
 
         //when
-        List<PaymentDto> actualPaymentDtoList = stripePaymentService
+        List<PaymentDto> actualPaymentDtoList = paymentService
                 .getAllPaymentsByUserId(userId, customerUser);
 
         //then
@@ -278,6 +460,36 @@ public class StripePaymentServiceTest {
         Mockito.verifyNoMoreInteractions(paymentMapper);
     }
 
+    @Test
+    @DisplayName("Verify scrollPaymentsByUserId() continues after the id from the cursor")
+    public void scrollPaymentsByUserId_ValidCursor_ReturnsLastPage()
+            throws MalformedURLException {
+        //given
+        User customerUser = createCustomerUser();
+        long userId = customerUser.getId();
+        Payment payment = createPayment(2L,
+                createRental(customerUser, false),
+                createDefaultSession());
+        PaymentDto paymentDto = createPaymentDto(payment);
+        String cursor = CursorPagination.encodeCursor(1L);
+
+        Mockito.when(paymentRepository.findPageByUserIdAfter(userId, 1L,
+                        PageRequest.of(0, 21)))
+                .thenReturn(List.of(payment));
+        Mockito.when(paymentMapper.entityToPaymentDto(payment)).thenReturn(paymentDto);
+
+        //when
+        CursorPageDto<PaymentDto> page = paymentService
+                .scrollPaymentsByUserId(userId, customerUser, cursor, 20);
+
+        //then
+        Assertions.assertEquals(List.of(paymentDto), page.getContent());
+        Assertions.assertNull(page.getNextCursor());
+        Mockito.verify(paymentRepository, times(1))
+                .findPageByUserIdAfter(userId, 1L, PageRequest.of(0, 21));
+        Mockito.verifyNoMoreInteractions(paymentRepository);
+    }
+
     @Test
     @DisplayName("Verify getAllPaymentsByUserId() method works when "
             + "any usedId for manager user ")
@@ -301,7 +513,7 @@ public class StripePaymentServiceTest {
                 .thenReturn(paymentDto);
 
         //when
-        List<PaymentDto> actualPaymentDtoList = stripePaymentService
+        List<PaymentDto> actualPaymentDtoList = paymentService
                 .getAllPaymentsByUserId(userId, managerUser);
 
         //then
@@ -327,7 +539,7 @@ public class StripePaymentServiceTest {
         //when
         Exception exception = assertThrows(
                 UnauthorizedAccessException.class,
-                () -> stripePaymentService.getAllPaymentsByUserId(userId, customerUser)
+                () -> paymentService.getAllPaymentsByUserId(userId, customerUser)
         );
 
         //then
@@ -339,60 +551,6 @@ public class StripePaymentServiceTest {
         Mockito.verifyNoInteractions(paymentMapper);
     }
 
-    @Test
-    @DisplayName("Verify verifySuccessfulPayment() method works")
-    public void verifySuccessfulPayment_ValidPaymentId_Works()
-            throws MalformedURLException {
-        //given
-        long paymentId = 1L;
-        Rental rental = createRental(new User().setId(1L), false);
-        Session session = createDefaultSession();
-        Payment payment = createPayment(paymentId, rental, session);
-
-        Mockito.when(paymentRepository.findById(paymentId))
-                .thenReturn(Optional.of(payment));
-
-        //when
-        stripePaymentService.verifySuccessfulPayment(paymentId);
-
-        //then
-        Mockito.verify(paymentRepository, times(1))
-                .findById(paymentId);
-        Mockito.verify(paymentRepository, times(1))
-                .save(any());
-        Mockito.verify(notificationService, times(1))
-                .sendSuccessfulPaymentNotification(rental.getId());
-        Mockito.verifyNoMoreInteractions(paymentRepository);
-        Mockito.verifyNoMoreInteractions(notificationService);
-    }
-
-    @Test
-    @DisplayName("Verify verifySuccessfulPayment() throws exception for invalid paymentId")
-    public void verifySuccessfulPayment_InvalidPaymentId_ThrowsException()
-            throws MalformedURLException {
-        //given
-        long paymentId = -1L;
-
-        Mockito.when(paymentRepository.findById(paymentId))
-                .thenReturn(Optional.empty());
-
-        //when
-        Exception exception = assertThrows(
-                EntityNotFoundException.class,
-                () -> stripePaymentService.verifySuccessfulPayment(paymentId)
-        );
-
-        //then
-        String expectedMessage = "Ooops... Something went wrong... "
-                + "Payment with id " + paymentId + " was not found";
-        String actualMessage = exception.getMessage();
-        Assertions.assertEquals(expectedMessage, actualMessage);
-
-        Mockito.verify(paymentRepository, times(1)).findById(paymentId);
-        Mockito.verifyNoMoreInteractions(paymentRepository);
-        Mockito.verifyNoInteractions(notificationService);
-    }
-
     private User createCustomerUser() {
         User user = createUser();
         user.getRoles().add(new Role().setRoleName(Role.RoleName.ROLE_CUSTOMER));
@@ -419,11 +577,8 @@ public class StripePaymentServiceTest {
         return user;
     }
 
-    private Session createDefaultSession() throws MalformedURLException {
-        Session session = new Session();
-        session.setUrl("http://default.url");
-        session.setId("1234a");
-        return session;
+    private CheckoutSession createDefaultSession() {
+        return new CheckoutSession("1234a", "http://default.url");
     }
 
     private Rental createRental(User user, Boolean isActive) {
@@ -435,15 +590,15 @@ public class StripePaymentServiceTest {
                 .setUser(user);
     }
 
-    private Payment createPayment(long paymentId, Rental rental, Session session)
+    private Payment createPayment(long paymentId, Rental rental, CheckoutSession session)
             throws MalformedURLException {
         return new Payment()
                 .setId(paymentId)
                 .setRental(rental)
                 .setPaymentStatus(PENDING)
                 .setPaymentType(PAYMENT)
-                .setSessionUrl(new URL(session.getUrl()))
-                .setSessionId(session.getId())
+                .setSessionUrl(new URL(session.url()))
+                .setSessionId(session.id())
                 .setTotalPrice(new BigDecimal("99.99"));
     }
 
@@ -457,24 +612,6 @@ public class StripePaymentServiceTest {
                 .setTotalPrice(payment.getTotalPrice());
     }
 
-    private Payment createModelPayment() {
-        Rental rental = new Rental();
-        rental.setId(0L);
-
-        Payment payment = new Payment();
-        payment.setRental(rental);
-        payment.setPaymentStatus(PENDING);
-        payment.setPaymentType(PAYMENT);
-        payment.setSessionId("id");
-        payment.setTotalPrice(new BigDecimal(0));
-        try {
-            payment.setSessionUrl(new URL("http://default.url"));
-        } catch (MalformedURLException e) {
-            throw new RuntimeException("Can not create default url", e);
-        }
-        return payment;
-    }
-
     private Car createDefaultCar() {
         return new Car()
                 .setId(1L)
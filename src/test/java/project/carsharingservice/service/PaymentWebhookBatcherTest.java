@@ -0,0 +1,132 @@
+package project.carsharingservice.service;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import project.carsharingservice.dto.outbox.PaymentEventPayload;
+import project.carsharingservice.exception.PaymentWebhookUnavailableException;
+import project.carsharingservice.model.OutboxEvent;
+import project.carsharingservice.repository.PaymentWebhookRepository;
+import project.carsharingservice.service.payment.PaymentWebhookBatcher;
+import project.carsharingservice.service.payment.PaymentWebhookEvent;
+
+@ExtendWith(MockitoExtension.class)
+public class PaymentWebhookBatcherTest {
+    @Mock
+    private PaymentWebhookRepository paymentWebhookRepository;
+    @Mock
+    private OutboxService outboxService;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PaymentWebhookBatcher paymentWebhookBatcher;
+
+    @BeforeEach
+    void setUp() {
+        paymentWebhookBatcher = new PaymentWebhookBatcher(paymentWebhookRepository,
+                outboxService,
+                new TransactionTemplate(Mockito.mock(PlatformTransactionManager.class)),
+                meterRegistry, 100, 50, Duration.ofSeconds(5));
+        paymentWebhookBatcher.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        paymentWebhookBatcher.stop();
+    }
+
+    @Test
+    @DisplayName("Verify submit() marks payment paid and publishes event once")
+    public void submit_NewEvent_MarksPaymentPaid() {
+        //given
+        PaymentEventPayload payment = new PaymentEventPayload().setPaymentId(1L).setRentalId(2L);
+        Mockito.when(paymentWebhookRepository.findProcessedEventIds(anyCollection()))
+                .thenReturn(Set.of());
+        Mockito.when(paymentWebhookRepository.findPendingPaymentsForUpdate(Set.of("cs_1")))
+                .thenReturn(Map.of("cs_1", payment));
+
+        //when
+        paymentWebhookBatcher.submit(new PaymentWebhookEvent("evt_1", "cs_1"));
+
+        //then
+        Mockito.verify(paymentWebhookRepository, times(1))
+                .insertProcessedEvents(Mockito.eq(List.of("evt_1")), any());
+        Mockito.verify(paymentWebhookRepository, times(1)).markPaid(Set.of("cs_1"));
+        Mockito.verify(outboxService, times(1)).publish(
+                OutboxEvent.EventType.PAYMENT_SUCCEEDED, 1L, payment);
+    }
+
+    @Test
+    @DisplayName("Verify submit() skips events which were already processed")
+    public void submit_DuplicatedEvent_SkipsUpdate() {
+        //given
+        Mockito.when(paymentWebhookRepository.findProcessedEventIds(anyCollection()))
+                .thenReturn(Set.of("evt_1"));
+
+        //when
+        paymentWebhookBatcher.submit(new PaymentWebhookEvent("evt_1", "cs_1"));
+
+        //then
+        Mockito.verify(paymentWebhookRepository, times(1)).findProcessedEventIds(anyCollection());
+        Mockito.verifyNoMoreInteractions(paymentWebhookRepository);
+        Mockito.verifyNoInteractions(outboxService);
+        Assertions.assertEquals(1,
+                meterRegistry.counter("payment.webhook.events.duplicated").count());
+    }
+
+    @Test
+    @DisplayName("Verify submit() counts events which match no pending payment")
+    public void submit_UnknownSession_CountsUnmatchedEvent() {
+        //given
+        Mockito.when(paymentWebhookRepository.findProcessedEventIds(anyCollection()))
+                .thenReturn(Set.of());
+        Mockito.when(paymentWebhookRepository.findPendingPaymentsForUpdate(Set.of("cs_1")))
+                .thenReturn(Map.of());
+
+        //when
+        paymentWebhookBatcher.submit(new PaymentWebhookEvent("evt_1", "cs_1"));
+
+        //then
+        Mockito.verify(paymentWebhookRepository, times(1))
+                .insertProcessedEvents(Mockito.eq(List.of("evt_1")), any());
+        Mockito.verify(paymentWebhookRepository, times(1)).markPaid(Set.of());
+        Mockito.verifyNoInteractions(outboxService);
+        Assertions.assertEquals(1,
+                meterRegistry.counter("payment.webhook.events.unmatched").count());
+    }
+
+    @Test
+    @DisplayName("Verify submit() throws exception when batch can not be applied")
+    public void submit_DatabaseFailure_ThrowsException() {
+        //given
+        Mockito.when(paymentWebhookRepository.findProcessedEventIds(anyCollection()))
+                .thenThrow(new QueryTimeoutException("Lock wait timeout exceeded"));
+
+        //when
+        Exception exception = assertThrows(
+                PaymentWebhookUnavailableException.class,
+                () -> paymentWebhookBatcher.submit(new PaymentWebhookEvent("evt_1", "cs_1"))
+        );
+
+        //then
+        Assertions.assertEquals("Event evt_1 was not processed", exception.getMessage());
+        Mockito.verifyNoInteractions(outboxService);
+    }
+}
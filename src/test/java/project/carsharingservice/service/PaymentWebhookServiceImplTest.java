@@ -0,0 +1,93 @@
+package project.carsharingservice.service;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stripe.net.Webhook;
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import project.carsharingservice.exception.PaymentWebhookException;
+import project.carsharingservice.service.impl.PaymentWebhookServiceImpl;
+import project.carsharingservice.service.payment.PaymentWebhookBatcher;
+import project.carsharingservice.service.payment.PaymentWebhookEvent;
+
+@ExtendWith(MockitoExtension.class)
+public class PaymentWebhookServiceImplTest {
+    private static final String WEBHOOK_SECRET = "whsec_test";
+    @Mock
+    private PaymentWebhookBatcher paymentWebhookBatcher;
+    private PaymentWebhookServiceImpl paymentWebhookService;
+
+    @BeforeEach
+    void setUp() {
+        paymentWebhookService = new PaymentWebhookServiceImpl(paymentWebhookBatcher,
+                new ObjectMapper(), WEBHOOK_SECRET, Duration.ofMinutes(5));
+    }
+
+    @Test
+    @DisplayName("Verify handleEvent() submits paid checkout session of signed event")
+    public void handleEvent_SignedCompletedSession_SubmitsEvent() throws Exception {
+        //given
+        String payload = createPayload("evt_1", "checkout.session.completed", "cs_1", "paid");
+
+        //when
+        paymentWebhookService.handleEvent(payload, sign(payload));
+
+        //then
+        Mockito.verify(paymentWebhookBatcher, times(1))
+                .submit(new PaymentWebhookEvent("evt_1", "cs_1"));
+    }
+
+    @Test
+    @DisplayName("Verify handleEvent() ignores sessions which are not paid yet")
+    public void handleEvent_UnpaidSession_IgnoresEvent() throws Exception {
+        //given
+        String payload = createPayload("evt_1", "checkout.session.completed", "cs_1", "unpaid");
+
+        //when
+        paymentWebhookService.handleEvent(payload, sign(payload));
+
+        //then
+        Mockito.verifyNoInteractions(paymentWebhookBatcher);
+    }
+
+    @Test
+    @DisplayName("Verify handleEvent() throws exception when signature is not valid")
+    public void handleEvent_InvalidSignature_ThrowsException() throws Exception {
+        //given
+        String payload = createPayload("evt_1", "checkout.session.completed", "cs_1", "paid");
+        String signature = sign(payload);
+
+        //when
+        Exception exception = assertThrows(
+                PaymentWebhookException.class,
+                () -> paymentWebhookService.handleEvent(payload.replace("cs_1", "cs_2"),
+                        signature)
+        );
+
+        //then
+        Assertions.assertEquals("Webhook signature is not valid", exception.getMessage());
+        Mockito.verifyNoInteractions(paymentWebhookBatcher);
+    }
+
+    private String createPayload(String eventId, String type, String sessionId,
+                                 String paymentStatus) {
+        return "{\"id\":\"" + eventId + "\",\"type\":\"" + type + "\",\"data\":{\"object\":"
+                + "{\"id\":\"" + sessionId + "\",\"payment_status\":\"" + paymentStatus + "\"}}}";
+    }
+
+    private String sign(String payload) throws Exception {
+        long timestamp = Instant.now().getEpochSecond();
+        return "t=" + timestamp + ",v1="
+                + Webhook.Util.computeHmacSha256(WEBHOOK_SECRET, timestamp + "." + payload);
+    }
+}
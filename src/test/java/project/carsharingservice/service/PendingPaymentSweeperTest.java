@@ -0,0 +1,98 @@
+package project.carsharingservice.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import project.carsharingservice.repository.PaymentRepository;
+import project.carsharingservice.service.payment.PendingPaymentSweeper;
+
+@ExtendWith(MockitoExtension.class)
+public class PendingPaymentSweeperTest {
+    private static final int CHUNK_SIZE = 2;
+    private static final int MAX_CHUNKS_PER_RUN = 3;
+    @Mock
+    private PaymentRepository paymentRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PendingPaymentSweeper pendingPaymentSweeper;
+
+    @BeforeEach
+    void setUp() {
+        Mockito.when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        pendingPaymentSweeper = new PendingPaymentSweeper(paymentRepository, transactionTemplate,
+                meterRegistry, CHUNK_SIZE, MAX_CHUNKS_PER_RUN, Duration.ofHours(1));
+    }
+
+    @Test
+    @DisplayName("Verify sweep() expires payments in chunks until a chunk is not full")
+    public void sweep_SeveralChunks_ExpiresAllPayments() {
+        //given
+        Mockito.when(paymentRepository.expirePendingPayments(any(LocalDateTime.class),
+                eq(CHUNK_SIZE))).thenReturn(2, 1);
+
+        //when
+        int expired = pendingPaymentSweeper.sweep();
+
+        //then
+        Assertions.assertEquals(3, expired);
+        ArgumentCaptor<LocalDateTime> expiredBefore = ArgumentCaptor.forClass(LocalDateTime.class);
+        Mockito.verify(paymentRepository, times(2))
+                .expirePendingPayments(expiredBefore.capture(), eq(CHUNK_SIZE));
+        Assertions.assertTrue(expiredBefore.getValue()
+                .isBefore(LocalDateTime.now().minusMinutes(59)));
+        Mockito.verify(transactionTemplate, times(2)).execute(any());
+        Assertions.assertEquals(3, meterRegistry.counter("payment.expiry.expired").count());
+    }
+
+    @Test
+    @DisplayName("Verify sweep() stops after the maximum number of chunks per run")
+    public void sweep_BacklogLargerThanRun_StopsAtMaxChunks() {
+        //given
+        Mockito.when(paymentRepository.expirePendingPayments(any(LocalDateTime.class),
+                anyInt())).thenReturn(CHUNK_SIZE);
+
+        //when
+        int expired = pendingPaymentSweeper.sweep();
+
+        //then
+        Assertions.assertEquals(CHUNK_SIZE * MAX_CHUNKS_PER_RUN, expired);
+        Mockito.verify(paymentRepository, times(MAX_CHUNKS_PER_RUN))
+                .expirePendingPayments(any(LocalDateTime.class), eq(CHUNK_SIZE));
+    }
+
+    @Test
+    @DisplayName("Verify sweep() keeps the rows of committed chunks when a chunk fails")
+    public void sweep_ChunkFails_ReportsCommittedRows() {
+        //given
+        Mockito.when(paymentRepository.expirePendingPayments(any(LocalDateTime.class),
+                anyInt())).thenReturn(CHUNK_SIZE)
+                .thenThrow(new QueryTimeoutException("Lock wait timeout exceeded"));
+
+        //when
+        int expired = pendingPaymentSweeper.sweep();
+
+        //then
+        Assertions.assertEquals(CHUNK_SIZE, expired);
+        Assertions.assertEquals(CHUNK_SIZE,
+                meterRegistry.counter("payment.expiry.expired").count());
+    }
+}
@@ -0,0 +1,100 @@
+package project.carsharingservice.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import project.carsharingservice.dto.rental.CreateRentalRequestDto;
+import project.carsharingservice.exception.EntityNotFoundException;
+import project.carsharingservice.model.User;
+import project.carsharingservice.repository.CarRepository;
+import project.carsharingservice.repository.UserRepository;
+
+@Log4j2
+@SpringBootTest
+@Sql(scripts = {"classpath:database/rentals/delete-rentals-from-the-rentals-table.sql",
+        "classpath:database/cars/delete-cars-from-the-cars-table.sql",
+        "classpath:database/users/delete-users-from-the-users-table.sql",
+        "classpath:database/users/add-users-to-the-users-table.sql",
+        "classpath:database/cars/add-cars-to-the-cars-table.sql"},
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+@Sql(scripts = {"classpath:database/rentals/delete-rentals-from-the-rentals-table.sql",
+        "classpath:database/cars/delete-cars-from-the-cars-table.sql",
+        "classpath:database/users/delete-users-from-the-users-table.sql"},
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_CLASS)
+public class RentalServiceConcurrencyTest {
+    private static final long CAR_ID = 1L;
+    private static final int INVENTORY = 500;
+    private static final int BOOKINGS = 2_000;
+    private static final int THREADS = 64;
+    @Autowired
+    private RentalService rentalService;
+    @Autowired
+    private CarRepository carRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Verify concurrent createRental() calls never oversell car inventory")
+    public void createRental_ConcurrentBookingsOfOneCar_InventoryIsExact() throws Exception {
+        //given
+        jdbcTemplate.update("UPDATE cars SET inventory = ? WHERE id = ?", INVENTORY, CAR_ID);
+        User user = userRepository.findByEmail("user@example.com").orElseThrow();
+        CreateRentalRequestDto requestDto = new CreateRentalRequestDto()
+                .setCarId(CAR_ID)
+                .setNumberOfDays(7L);
+
+        AtomicInteger successfulBookings = new AtomicInteger();
+        AtomicInteger rejectedBookings = new AtomicInteger();
+        CountDownLatch startLatch = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>(BOOKINGS);
+        for (int i = 0; i < BOOKINGS; i++) {
+            futures.add(executor.submit(() -> {
+                startLatch.await();
+                try {
+                    rentalService.createRental(requestDto, user);
+                    successfulBookings.incrementAndGet();
+                } catch (EntityNotFoundException e) {
+                    rejectedBookings.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        //when
+        long start = System.nanoTime();
+        startLatch.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        executor.shutdown();
+
+        //then
+        log.info("{} bookings on {} threads took {} ms ({} bookings/s)",
+                BOOKINGS, THREADS, elapsedMillis, BOOKINGS * 1000L / Math.max(elapsedMillis, 1));
+
+        Integer rentalsCount = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM rentals WHERE car_id = ?", Integer.class, CAR_ID);
+
+        Assertions.assertEquals(INVENTORY, successfulBookings.get());
+        Assertions.assertEquals(BOOKINGS - INVENTORY, rejectedBookings.get());
+        Assertions.assertEquals(INVENTORY, rentalsCount);
+        Assertions.assertEquals(0, carRepository.findById(CAR_ID).orElseThrow().getInventory());
+    }
+}
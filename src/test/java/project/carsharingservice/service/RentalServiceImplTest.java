@@ -2,49 +2,64 @@ package project.carsharingservice.service;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 
 import java.time.LocalDate;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import project.carsharingservice.dto.car.RentedCarDto;
+import project.carsharingservice.dto.outbox.RentalEventPayload;
+import project.carsharingservice.dto.page.CursorPageDto;
 import project.carsharingservice.dto.rental.CreateRentalRequestDto;
 import project.carsharingservice.dto.rental.RentalDto;
 import project.carsharingservice.dto.rental.RentalDtoWithoutCarInfo;
 import project.carsharingservice.exception.ClosedRentalException;
 import project.carsharingservice.exception.EntityNotFoundException;
 import project.carsharingservice.exception.UnauthorizedAccessException;
+import project.carsharingservice.mapper.CarMapper;
 import project.carsharingservice.mapper.RentalMapper;
 import project.carsharingservice.model.Car;
+import project.carsharingservice.model.OutboxEvent;
 import project.carsharingservice.model.Rental;
 import project.carsharingservice.model.Role;
 import project.carsharingservice.model.User;
 import project.carsharingservice.repository.CarRepository;
 import project.carsharingservice.repository.RentalRepository;
+import project.carsharingservice.service.event.CarInventoryChangedEvent;
 import project.carsharingservice.service.impl.RentalServiceImpl;
-import project.carsharingservice.service.notification.bot.NotificationService;
+import project.carsharingservice.service.pagination.CursorPagination;
 
 @ExtendWith(MockitoExtension.class)
 public class RentalServiceImplTest {
     @Mock
-    private NotificationService notificationService;
+    private OutboxService outboxService;
     @Mock
     private RentalRepository rentalRepository;
     @Mock
     private CarRepository carRepository;
     @Mock
     private RentalMapper rentalMapper;
+    @Mock
+    private CarMapper carMapper;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
     @InjectMocks
     private RentalServiceImpl rentalServiceImpl;
 
@@ -56,29 +71,27 @@ public class RentalServiceImplTest {
         Long userId = null;
         Boolean isRentalActive = true;
         User managerUser = createManagerUser();
+        Pageable pageable = PageRequest.of(0, 10);
 
-        List<Rental> rentals = List.of(
-                createNewRental(managerUser, true),
-                createNewRental(managerUser, false)
-        );
+        List<Rental> rentals = List.of(createNewRental(managerUser, true));
 
         List<RentalDtoWithoutCarInfo> expectedRentals = List.of(
                 createDtoWithoutCarInfo(rentals.get(0)));
 
-        Mockito.when(rentalRepository.findAll())
-                .thenReturn(rentals);
+        Mockito.when(rentalRepository.findAll(any(Specification.class), eq(pageable)))
+                .thenReturn(new PageImpl<>(rentals, pageable, rentals.size()));
         Mockito.when(rentalMapper.entityRentalDtoWithoutCarInfo(rentals.get(0)))
                 .thenReturn(expectedRentals.get(0));
 
         // when
         List<RentalDtoWithoutCarInfo> actualRentals = rentalServiceImpl
-                .getRentalsByUserId(userId, isRentalActive, managerUser);
+                .getRentalsByUserId(userId, isRentalActive, managerUser, pageable);
 
         // then
         Assertions.assertEquals(expectedRentals, actualRentals);
 
         Mockito.verify(rentalRepository, times(1))
-                .findAll();
+                .findAll(any(Specification.class), eq(pageable));
         Mockito.verify(rentalMapper, times(1))
                 .entityRentalDtoWithoutCarInfo(rentals.get(0));
         Mockito.verifyNoMoreInteractions(rentalRepository, rentalMapper);
@@ -90,38 +103,58 @@ public class RentalServiceImplTest {
     public void getRentalsByUserId_UserIdIsNotNull_ReturnsFilteredRentals() {
         // given
         Long userId = 2L;
-        User user1 = createUser();
-        user1.setId(1L);
         User user2 = createUser();
         user2.setId(userId);
+        Pageable pageable = PageRequest.of(0, 10);
 
-        List<Rental> rentals = Arrays.asList(
-                createNewRental(user1, true),
-                createNewRental(user2, true)
-        );
+        List<Rental> rentals = List.of(createNewRental(user2, true));
 
         List<RentalDtoWithoutCarInfo> expectedRentals = List.of(
-                createDtoWithoutCarInfo(rentals.get(1)));
+                createDtoWithoutCarInfo(rentals.get(0)));
 
-        Mockito.when(rentalRepository.findAllByUserId(userId))
-                .thenReturn(List.of(rentals.get(1)));
-        Mockito.when(rentalMapper.entityRentalDtoWithoutCarInfo(rentals.get(1)))
+        Mockito.when(rentalRepository.findAll(any(Specification.class), eq(pageable)))
+                .thenReturn(new PageImpl<>(rentals, pageable, rentals.size()));
+        Mockito.when(rentalMapper.entityRentalDtoWithoutCarInfo(rentals.get(0)))
                 .thenReturn(expectedRentals.get(0));
 
         // when
         List<RentalDtoWithoutCarInfo> actualRentals = rentalServiceImpl
-                .getRentalsByUserId(userId, true, user2);
+                .getRentalsByUserId(userId, true, user2, pageable);
 
         // then
         Assertions.assertEquals(expectedRentals, actualRentals);
 
         Mockito.verify(rentalRepository, times(1))
-                .findAllByUserId(userId);
+                .findAll(any(Specification.class), eq(pageable));
         Mockito.verify(rentalMapper, times(1))
-                .entityRentalDtoWithoutCarInfo(rentals.get(1));
+                .entityRentalDtoWithoutCarInfo(rentals.get(0));
         Mockito.verifyNoMoreInteractions(rentalRepository, rentalMapper);
     }
 
+    @Test
+    @DisplayName("Verify getRentalsByUserId() method throws exception when "
+            + "customer requests rentals of another user")
+    public void getRentalsByUserId_AnotherUserIdForCustomer_ThrowsException() {
+        // given
+        User customerUser = createCustomerUser();
+        Long userId = customerUser.getId() + 1;
+        Pageable pageable = PageRequest.of(0, 10);
+
+        // when
+        Exception exception = assertThrows(
+                UnauthorizedAccessException.class,
+                () -> rentalServiceImpl.getRentalsByUserId(userId, null, customerUser, pageable)
+        );
+
+        // then
+        String expectedMessage = "You do not have access to specified rental(s)";
+        String actualMessage = exception.getMessage();
+        Assertions.assertEquals(expectedMessage, actualMessage);
+
+        Mockito.verifyNoInteractions(rentalRepository);
+        Mockito.verifyNoInteractions(rentalMapper);
+    }
+
     @Test
     @DisplayName("Verify getRentalById() method works for valid rental id and user customer")
     public void getRentalById_ValidRentalIdAndUserCustomer_ReturnsRentalList() {
@@ -249,10 +282,10 @@ public class RentalServiceImplTest {
         Rental newRental = createNewRental(customerUser, true);
         RentalDto expectedRentalDto = createRentalDto(newRental);
 
+        Mockito.when(carRepository.decreaseInventory(car.getId()))
+                .thenReturn(1);
         Mockito.when(carRepository.findById(car.getId()))
                 .thenReturn(Optional.of(car));
-        Mockito.when(carRepository.save(car))
-                .thenReturn(car);
         Mockito.when(rentalRepository.save(any(Rental.class)))
                 .thenReturn(newRental);
         Mockito.when(rentalMapper.entityToRentalDto(newRental))
@@ -266,13 +299,19 @@ public class RentalServiceImplTest {
         Assertions.assertEquals(expectedRentalDto, actualRentalDto);
 
         Mockito.verify(carRepository, times(1))
-                .findById(car.getId());
+                .decreaseInventory(car.getId());
         Mockito.verify(carRepository, times(1))
-                .save(car);
+                .findById(car.getId());
         Mockito.verify(rentalRepository, times(1))
                 .save(any(Rental.class));
         Mockito.verify(rentalMapper, times(1))
                 .entityToRentalDto(newRental);
+        Mockito.verify(eventPublisher, times(1))
+                .publishEvent(new CarInventoryChangedEvent(car.getId(), -1));
+        Mockito.verify(outboxService, times(1)).publish(
+                eq(OutboxEvent.EventType.RENTAL_CREATED),
+                eq(newRental.getId()),
+                any(RentalEventPayload.class));
         Mockito.verifyNoMoreInteractions(carRepository);
         Mockito.verifyNoMoreInteractions(rentalRepository);
         Mockito.verifyNoMoreInteractions(rentalMapper);
@@ -290,6 +329,8 @@ public class RentalServiceImplTest {
                 .setId(createRentalRequestDto.getCarId())
                 .setInventory(0);
 
+        Mockito.when(carRepository.decreaseInventory(createRentalRequestDto.getCarId()))
+                .thenReturn(0);
         Mockito.when(carRepository.findById(createRentalRequestDto.getCarId()))
                 .thenReturn(Optional.of(car));
 
@@ -306,8 +347,11 @@ public class RentalServiceImplTest {
 
         Assertions.assertEquals(expectedMessage, actualMessage);
 
+        Mockito.verify(carRepository, times(1))
+                .decreaseInventory(createRentalRequestDto.getCarId());
         Mockito.verify(carRepository, times(1))
                 .findById(createRentalRequestDto.getCarId());
+        Mockito.verifyNoMoreInteractions(carRepository);
         Mockito.verifyNoInteractions(rentalRepository);
         Mockito.verifyNoInteractions(rentalMapper);
     }
@@ -321,6 +365,8 @@ public class RentalServiceImplTest {
                 .setNumberOfDays(7L);
         User customerUser = createCustomerUser();
 
+        Mockito.when(carRepository.decreaseInventory(createRentalRequestDto.getCarId()))
+                .thenReturn(0);
         Mockito.when(carRepository.findById(createRentalRequestDto.getCarId()))
                 .thenReturn(Optional.empty());
 
@@ -337,8 +383,11 @@ public class RentalServiceImplTest {
 
         Assertions.assertEquals(expectedMessage, actualMessage);
 
+        Mockito.verify(carRepository, times(1))
+                .decreaseInventory(createRentalRequestDto.getCarId());
         Mockito.verify(carRepository, times(1))
                 .findById(createRentalRequestDto.getCarId());
+        Mockito.verifyNoMoreInteractions(carRepository);
         Mockito.verifyNoInteractions(rentalRepository);
         Mockito.verifyNoInteractions(rentalMapper);
     }
@@ -351,25 +400,27 @@ public class RentalServiceImplTest {
         Long userId = 1L;
 
         Car car = new Car().setId(1L).setInventory(0);
+        Car returnedCar = new Car().setId(1L).setInventory(1);
 
         Rental activeRental = new Rental()
                 .setId(rentalId)
                 .setCar(car)
                 .setUser(new User().setId(userId))
                 .setActualReturnDate(null);
-        Rental closedRental = new Rental()
+        RentalDto rentalDto = createRentalDto(new Rental()
                 .setId(rentalId)
-                .setCar(car)
+                .setCar(returnedCar)
                 .setUser(new User().setId(userId))
-                .setActualReturnDate(LocalDate.now());
-        RentalDto rentalDto = createRentalDto(closedRental);
+                .setActualReturnDate(LocalDate.now()));
 
         Mockito.when(rentalRepository.findRentalByIdAndUserId(rentalId, userId))
                 .thenReturn(Optional.of(activeRental));
+        Mockito.when(carRepository.increaseInventory(car.getId()))
+                .thenReturn(1);
         Mockito.when(carRepository.findById(car.getId()))
-                .thenReturn(Optional.of(car));
+                .thenReturn(Optional.of(returnedCar));
         Mockito.when(rentalRepository.save(any(Rental.class)))
-                .thenReturn(closedRental);
+                .thenAnswer(invocation -> invocation.getArgument(0));
         Mockito.when(rentalMapper.entityToRentalDto(any(Rental.class)))
                 .thenReturn(rentalDto);
 
@@ -381,12 +432,25 @@ public class RentalServiceImplTest {
 
         Mockito.verify(rentalRepository, times(1))
                 .findRentalByIdAndUserId(rentalId, userId);
+        Mockito.verify(carRepository, times(1))
+                .increaseInventory(car.getId());
         Mockito.verify(carRepository, times(1))
                 .findById(car.getId());
+        ArgumentCaptor<Rental> mappedRental = ArgumentCaptor.forClass(Rental.class);
+        Mockito.verify(rentalMapper).entityToRentalDto(mappedRental.capture());
+        Assertions.assertEquals(1, mappedRental.getValue().getCar().getInventory());
+        Mockito.verify(carMapper, times(1)).entityToCarDto(returnedCar);
         Mockito.verify(rentalRepository, times(1))
                 .save(any(Rental.class));
         Mockito.verify(rentalMapper, times(1))
                 .entityToRentalDto(any(Rental.class));
+        Mockito.verify(eventPublisher, times(1))
+                .publishEvent(new CarInventoryChangedEvent(car.getId(), 1));
+        Mockito.verify(outboxService, times(1)).publish(
+                eq(OutboxEvent.EventType.RENTAL_RETURNED),
+                eq(rentalId),
+                any(RentalEventPayload.class));
+        Mockito.verifyNoMoreInteractions(carRepository);
         Mockito.verifyNoMoreInteractions(rentalRepository);
         Mockito.verifyNoMoreInteractions(rentalMapper);
     }
@@ -457,6 +521,32 @@ public class RentalServiceImplTest {
         Mockito.verifyNoInteractions(rentalMapper);
     }
 
+    @Test
+    @DisplayName("Verify scrollRentalsByUserId() trims the extra row and returns next cursor")
+    public void scrollRentalsByUserId_MoreRowsThanSize_ReturnsNextCursor() {
+        //given
+        User customerUser = createCustomerUser();
+        List<Rental> rentals = List.of(
+                createNewRental(customerUser, true).setId(1L),
+                createNewRental(customerUser, true).setId(2L),
+                createNewRental(customerUser, true).setId(3L));
+
+        Mockito.when(rentalRepository.findBy(any(Specification.class), any()))
+                .thenReturn(rentals);
+        Mockito.when(rentalMapper.entityRentalDtoWithoutCarInfo(any(Rental.class)))
+                .thenAnswer(invocation -> createDtoWithoutCarInfo(invocation.getArgument(0)));
+
+        //when
+        CursorPageDto<RentalDtoWithoutCarInfo> page = rentalServiceImpl
+                .scrollRentalsByUserId(null, true, customerUser, null, 2);
+
+        //then
+        Assertions.assertEquals(2, page.getContent().size());
+        Assertions.assertEquals(CursorPagination.encodeCursor(2L), page.getNextCursor());
+        Mockito.verify(rentalRepository, times(1)).findBy(any(Specification.class), any());
+        Mockito.verifyNoMoreInteractions(rentalRepository);
+    }
+
     private Rental createNewRental(User user, Boolean isActive) {
         return new Rental()
                 .setRentalDate(LocalDate.now())
@@ -0,0 +1,151 @@
+package project.carsharingservice.service;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import project.carsharingservice.exception.CreateSessionException;
+import project.carsharingservice.exception.PaymentGatewayUnavailableException;
+import project.carsharingservice.service.payment.CheckoutSession;
+import project.carsharingservice.service.payment.CheckoutSessionRequest;
+import project.carsharingservice.service.payment.CircuitBreaker;
+import project.carsharingservice.service.payment.PaymentGateway;
+import project.carsharingservice.service.payment.ResilientPaymentGateway;
+
+public class ResilientPaymentGatewayTest {
+    private static final CheckoutSession SESSION =
+            new CheckoutSession("cs_1", "http://default.url");
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ResilientPaymentGateway resilientPaymentGateway;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        resilientPaymentGateway.shutdown();
+    }
+
+    @Test
+    @DisplayName("Verify createSession() returns session and records latency")
+    public void createSession_HealthyGateway_ReturnsSession() {
+        //given
+        resilientPaymentGateway = createGateway(request -> SESSION, Duration.ofSeconds(1), 1);
+
+        //when
+        CheckoutSession session = resilientPaymentGateway.createSession(createRequest());
+
+        //then
+        Assertions.assertEquals(SESSION, session);
+        Assertions.assertEquals(1, meterRegistry.get("payment.gateway.latency")
+                .tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    @DisplayName("Verify createSession() fails fast when gateway does not respond in time")
+    public void createSession_SlowGateway_ThrowsException() {
+        //given
+        resilientPaymentGateway = createGateway(request -> {
+            awaitRelease();
+            return SESSION;
+        }, Duration.ofMillis(50), 1);
+
+        //when
+        Exception exception = assertThrows(
+                PaymentGatewayUnavailableException.class,
+                () -> resilientPaymentGateway.createSession(createRequest())
+        );
+
+        //then
+        Assertions.assertEquals("Payment gateway did not respond in 50 ms, please retry later",
+                exception.getMessage());
+        Assertions.assertEquals(1, meterRegistry.get("payment.gateway.latency")
+                .tag("outcome", "timeout").timer().count());
+    }
+
+    @Test
+    @DisplayName("Verify createSession() rejects calls when bulkhead is full")
+    public void createSession_BulkheadFull_RejectsCall() throws InterruptedException {
+        //given
+        CountDownLatch started = new CountDownLatch(1);
+        resilientPaymentGateway = createGateway(request -> {
+            started.countDown();
+            awaitRelease();
+            return SESSION;
+        }, Duration.ofSeconds(5), 1);
+        Thread blockingCall = new Thread(() -> {
+            try {
+                resilientPaymentGateway.createSession(createRequest());
+            } catch (PaymentGatewayUnavailableException e) {
+                // released by tearDown
+            }
+        });
+        blockingCall.start();
+        started.await();
+
+        //when
+        assertThrows(
+                PaymentGatewayUnavailableException.class,
+                () -> resilientPaymentGateway.createSession(createRequest())
+        );
+
+        //then
+        Assertions.assertEquals(1, meterRegistry.get("payment.gateway.calls.rejected")
+                .tag("reason", "bulkhead_full").counter().count());
+    }
+
+    @Test
+    @DisplayName("Verify createSession() stops calling failing gateway once circuit is open")
+    public void createSession_FailingGateway_OpensCircuit() {
+        //given
+        AtomicInteger calls = new AtomicInteger();
+        resilientPaymentGateway = createGateway(request -> {
+            calls.incrementAndGet();
+            throw new CreateSessionException("Can not create session", null);
+        }, Duration.ofSeconds(1), 1);
+
+        //when
+        for (int i = 0; i < 2; i++) {
+            assertThrows(CreateSessionException.class,
+                    () -> resilientPaymentGateway.createSession(createRequest()));
+        }
+        assertThrows(PaymentGatewayUnavailableException.class,
+                () -> resilientPaymentGateway.createSession(createRequest()));
+
+        //then
+        Assertions.assertEquals(2, calls.get());
+        Assertions.assertEquals(CircuitBreaker.State.OPEN,
+                resilientPaymentGateway.getCircuitState());
+        Assertions.assertEquals(1, meterRegistry.get("payment.gateway.circuit.state")
+                .tag("state", "open").gauge().value());
+        Assertions.assertEquals(1, meterRegistry.get("payment.gateway.calls.rejected")
+                .tag("reason", "circuit_open").counter().count());
+    }
+
+    private ResilientPaymentGateway createGateway(PaymentGateway paymentGateway,
+                                                  Duration timeout,
+                                                  int maxConcurrentCalls) {
+        return new ResilientPaymentGateway(paymentGateway, meterRegistry, timeout,
+                maxConcurrentCalls, 0, 4, 2, 0.5, Duration.ofSeconds(30), 1);
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private CheckoutSessionRequest createRequest() {
+        return new CheckoutSessionRequest("Payment for rental 1", new BigDecimal("50"),
+                "http://success.url", "http://cancel.url", Instant.now().plusSeconds(3600), null);
+    }
+}
@@ -0,0 +1,100 @@
+package project.carsharingservice.service;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import project.carsharingservice.exception.CreateSessionException;
+import project.carsharingservice.service.payment.CheckoutSession;
+import project.carsharingservice.service.payment.CheckoutSessionRequest;
+import project.carsharingservice.service.payment.LatencyDistribution;
+import project.carsharingservice.service.payment.SimulatedPaymentGateway;
+
+public class SimulatedPaymentGatewayTest {
+    private static final String SUCCESS_URL =
+            "http://localhost:8080/payments/success/{CHECKOUT_SESSION_ID}";
+
+    @Test
+    @DisplayName("Verify createSession() returns session with id substituted into success url")
+    public void createSession_NoFailures_ReturnsSessionWithSuccessUrl() {
+        //given
+        SimulatedPaymentGateway gateway = createGateway(0.0);
+
+        //when
+        CheckoutSession session = gateway.createSession(createRequest(null));
+
+        //then
+        Assertions.assertTrue(session.id().startsWith("cs_sim_"));
+        Assertions.assertEquals("http://localhost:8080/payments/success/" + session.id(),
+                session.url());
+    }
+
+    @Test
+    @DisplayName("Verify createSession() returns the same session for a repeated idempotency key")
+    public void createSession_RepeatedIdempotencyKey_ReturnsSameSession() {
+        //given
+        SimulatedPaymentGateway gateway = createGateway(0.0);
+
+        //when
+        CheckoutSession first = gateway.createSession(createRequest("key-1"));
+        CheckoutSession second = gateway.createSession(createRequest("key-1"));
+        CheckoutSession other = gateway.createSession(createRequest("key-2"));
+
+        //then
+        Assertions.assertEquals(first, second);
+        Assertions.assertNotEquals(first, other);
+    }
+
+    @Test
+    @DisplayName("Verify createSession() throws exception when every call fails")
+    public void createSession_FailureRateOne_ThrowsException() {
+        //given
+        SimulatedPaymentGateway gateway = createGateway(1.0);
+
+        //when
+        Exception exception = assertThrows(
+                CreateSessionException.class,
+                () -> gateway.createSession(createRequest("key-1"))
+        );
+
+        //then
+        Assertions.assertEquals("Can not create session", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Verify LOG_NORMAL latency matches configured median and p99")
+    public void sample_LogNormal_MatchesConfiguredPercentiles() {
+        //given
+        Duration median = Duration.ofMillis(100);
+        Duration p99 = Duration.ofMillis(800);
+        Random random = new Random(42);
+        int samples = 100_000;
+
+        //when
+        long[] latencies = new long[samples];
+        for (int i = 0; i < samples; i++) {
+            latencies[i] = LatencyDistribution.LOG_NORMAL.sample(median, p99, random).toMillis();
+        }
+        Arrays.sort(latencies);
+
+        //then
+        Assertions.assertEquals(100, latencies[samples / 2], 5);
+        Assertions.assertEquals(800, latencies[(int) (samples * 0.99)], 60);
+    }
+
+    private SimulatedPaymentGateway createGateway(double failureRate) {
+        return new SimulatedPaymentGateway(LatencyDistribution.FIXED, Duration.ZERO,
+                Duration.ZERO, failureRate);
+    }
+
+    private CheckoutSessionRequest createRequest(String idempotencyKey) {
+        return new CheckoutSessionRequest("Payment for rental 1", new BigDecimal("50"),
+                SUCCESS_URL, SUCCESS_URL, Instant.now().plusSeconds(3600), idempotencyKey);
+    }
+}
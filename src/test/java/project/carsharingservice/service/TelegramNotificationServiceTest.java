@@ -0,0 +1,163 @@
+package project.carsharingservice.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import project.carsharingservice.dto.outbox.PaymentEventPayload;
+import project.carsharingservice.dto.rental.OverdueRentalDto;
+import project.carsharingservice.exception.OutboxEventException;
+import project.carsharingservice.model.OutboxEvent;
+import project.carsharingservice.repository.RentalRepository;
+import project.carsharingservice.service.notification.bot.NotificationDispatcher;
+import project.carsharingservice.service.notification.bot.TelegramNotificationService;
+
+@ExtendWith(MockitoExtension.class)
+public class TelegramNotificationServiceTest {
+    private static final int CHUNK_SIZE = 100;
+    @Mock
+    private NotificationDispatcher notificationDispatcher;
+    @Mock
+    private OutboxService outboxService;
+    @Mock
+    private RentalRepository rentalRepository;
+    private TelegramNotificationService telegramNotificationService;
+
+    @BeforeEach
+    void setUp() {
+        telegramNotificationService = new TelegramNotificationService(
+                notificationDispatcher, outboxService, rentalRepository, CHUNK_SIZE);
+    }
+
+    @Test
+    @DisplayName("Verify sendOverdueRentalsNotification() reads overdue rentals in chunks "
+            + "and delivers report in messages within size limit")
+    public void sendOverdueRentalsNotification_SeveralChunks_SendsSplitReport() {
+        //given
+        LocalDate today = LocalDate.now();
+        Pageable chunk = PageRequest.of(0, CHUNK_SIZE);
+        List<OverdueRentalDto> firstChunk = createOverdueRentals(1, CHUNK_SIZE);
+        List<OverdueRentalDto> secondChunk = createOverdueRentals(CHUNK_SIZE + 1, 150);
+        OverdueRentalDto lastOfFirstChunk = firstChunk.get(CHUNK_SIZE - 1);
+
+        Mockito.when(rentalRepository.findOverdueRentals(today, chunk))
+                .thenReturn(firstChunk);
+        Mockito.when(rentalRepository.findOverdueRentalsAfter(today,
+                        lastOfFirstChunk.getReturnDate(), lastOfFirstChunk.getId(), chunk))
+                .thenReturn(secondChunk);
+
+        //when
+        telegramNotificationService.sendOverdueRentalsNotification();
+
+        //then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<String>> messages = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(notificationDispatcher, Mockito.atLeast(2)).deliver(messages.capture());
+        Mockito.verifyNoMoreInteractions(notificationDispatcher);
+        List<String> reportParts = messages.getAllValues().stream()
+                .flatMap(List::stream)
+                .toList();
+        reportParts.forEach(message -> Assertions.assertTrue(
+                message.length() <= NotificationDispatcher.MAX_MESSAGE_LENGTH));
+
+        String report = String.join("\n", reportParts);
+        Assertions.assertTrue(report.contains("Total overdue rentals: 150"));
+        Assertions.assertTrue(report.contains("car with id 1: 75"));
+        Assertions.assertTrue(report.contains("car with id 2: 75"));
+        Assertions.assertTrue(report.contains("user with id 3: 50"));
+
+        Mockito.verify(rentalRepository, times(1)).findOverdueRentals(today, chunk);
+        Mockito.verify(rentalRepository, times(1)).findOverdueRentalsAfter(today,
+                lastOfFirstChunk.getReturnDate(), lastOfFirstChunk.getId(), chunk);
+        Mockito.verifyNoMoreInteractions(rentalRepository);
+    }
+
+    @Test
+    @DisplayName("Verify sendOverdueRentalsNotification() works when no rentals are overdue")
+    public void sendOverdueRentalsNotification_NoOverdueRentals_SendsDefaultMessage() {
+        //given
+        Mockito.when(rentalRepository.findOverdueRentals(any(LocalDate.class), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        //when
+        telegramNotificationService.sendOverdueRentalsNotification();
+
+        //then
+        Mockito.verify(notificationDispatcher, times(1))
+                .deliver(List.of("No rentals overdue today!"));
+        Mockito.verifyNoMoreInteractions(notificationDispatcher);
+        Mockito.verify(rentalRepository, times(0)).findOverdueRentalsAfter(
+                any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Verify handle() delivers one message per outbox event")
+    public void handle_PaymentSucceededEvent_DeliversMessage() {
+        //given
+        OutboxEvent event = new OutboxEvent()
+                .setId(1L)
+                .setEventType(OutboxEvent.EventType.PAYMENT_SUCCEEDED)
+                .setAggregateId(1L);
+        Mockito.when(outboxService.readPayload(eq(event), eq(PaymentEventPayload.class)))
+                .thenReturn(new PaymentEventPayload().setPaymentId(1L).setRentalId(2L));
+        Mockito.when(notificationDispatcher.deliver(eq(List.of(event)), any()))
+                .thenAnswer(invocation -> {
+                    Function<OutboxEvent, String> messageMapper = invocation.getArgument(1);
+                    Assertions.assertEquals("Rental with id 2 was successfully paid",
+                            messageMapper.apply(event));
+                    return List.of();
+                });
+
+        //when
+        List<OutboxEvent> unhandled = telegramNotificationService.handle(List.of(event));
+
+        //then
+        Assertions.assertTrue(unhandled.isEmpty());
+        Mockito.verify(notificationDispatcher, times(1)).deliver(eq(List.of(event)), any());
+    }
+
+    @Test
+    @DisplayName("Verify handle() returns an event whose payload can't be read as unhandled")
+    public void handle_UnreadablePayload_ReturnsEventAsUnhandled() {
+        //given
+        OutboxEvent brokenEvent = new OutboxEvent()
+                .setId(1L)
+                .setEventType(OutboxEvent.EventType.PAYMENT_SUCCEEDED)
+                .setAggregateId(1L);
+        Mockito.when(outboxService.readPayload(eq(brokenEvent), eq(PaymentEventPayload.class)))
+                .thenThrow(new OutboxEventException("Can't read payload", null));
+        Mockito.when(notificationDispatcher.deliver(eq(List.of()), any()))
+                .thenReturn(List.of());
+
+        //when
+        List<OutboxEvent> unhandled = telegramNotificationService.handle(List.of(brokenEvent));
+
+        //then
+        Assertions.assertEquals(List.of(brokenEvent), unhandled);
+    }
+
+    private List<OverdueRentalDto> createOverdueRentals(long fromId, long toId) {
+        return LongStream.rangeClosed(fromId, toId)
+                .mapToObj(id -> new OverdueRentalDto()
+                        .setId(id)
+                        .setReturnDate(LocalDate.now().minusDays(1))
+                        .setUserId(id % 3 + 1)
+                        .setCarId(id % 2 + 1))
+                .toList();
+    }
+}
@@ -13,6 +13,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import project.carsharingservice.dto.auth.registration.UserRegistrationRequestDto;
@@ -27,6 +28,8 @@ import project.carsharingservice.model.Role;
 import project.carsharingservice.model.User;
 import project.carsharingservice.repository.RoleRepository;
 import project.carsharingservice.repository.UserRepository;
+import project.carsharingservice.security.UserPrincipalCache;
+import project.carsharingservice.service.event.UserPrincipalChangedEvent;
 import project.carsharingservice.service.impl.UserServiceImpl;
 
 @ExtendWith(MockitoExtension.class)
@@ -41,6 +44,10 @@ public class UserServiceImplTest {
     private UserMapper userMapper;
     @Mock
     private PasswordEncoder passwordEncoder;
+    @Mock
+    private UserPrincipalCache userPrincipalCache;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
     @InjectMocks
     private UserServiceImpl userServiceImpl;
 
@@ -195,6 +202,9 @@ public class UserServiceImplTest {
                 .save(updatedUser);
         Mockito.verify(userMapper, times(1))
                 .entityToUserInfoResponseDto(updatedUser);
+        Mockito.verify(eventPublisher, times(1))
+                .publishEvent(new UserPrincipalChangedEvent(email));
+        Mockito.verifyNoInteractions(userPrincipalCache);
         Mockito.verifyNoMoreInteractions(userRepository);
         Mockito.verifyNoMoreInteractions(userMapper);
     }
@@ -231,6 +241,9 @@ public class UserServiceImplTest {
                 .findById(requestDto.getRoleId());
         Mockito.verify(userRepository, times(1))
                 .save(any(User.class));
+        Mockito.verify(eventPublisher, times(1))
+                .publishEvent(new UserPrincipalChangedEvent(email));
+        Mockito.verifyNoInteractions(userPrincipalCache);
         Mockito.verifyNoMoreInteractions(userRepository);
         Mockito.verifyNoMoreInteractions(roleRepository);
         Mockito.verifyNoInteractions(userMapper);
@@ -270,6 +283,7 @@ public class UserServiceImplTest {
 
         //then
         Mockito.verify(userRepository, times(1)).deleteById(userId);
+        Mockito.verify(userPrincipalCache, times(1)).evictByUserId(userId);
         Mockito.verifyNoMoreInteractions(userRepository);
         Mockito.verifyNoInteractions(userMapper);
     }